@@ -0,0 +1,56 @@
+package dev.arsalaan.eagle_bank.config;
+
+import dev.arsalaan.eagle_bank.security.CaffeineUserCache;
+import dev.arsalaan.eagle_bank.service.AccountViewCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.cache.NullUserCache;
+
+@Configuration
+public class CacheConfig {
+
+    // Authenticated users looked up by JwtRequestFilter.
+    // Invalidation is local to this instance, so the TTL bounds staleness across instances.
+    @Bean
+    public UserCache userCache(
+            @Value("${app.security.user-cache.enabled:true}") boolean enabled,
+            @Value("${app.security.user-cache.ttl:30s}") Duration ttl,
+            @Value("${app.security.user-cache.max-size:10000}") long maxSize) {
+
+        if (!enabled) {
+            return new NullUserCache();
+        }
+        return new CaffeineUserCache(ttl, maxSize);
+    }
+
+    // Account views (see AccountViewCache). The TTL is the staleness bound for races and other instances.
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.accounts.cache.enabled:true}") boolean enabled,
+            @Value("${app.accounts.cache.ttl:30s}") Duration ttl,
+            @Value("${app.accounts.cache.max-size:100000}") long maxSize) {
+
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+                AccountViewCache.ACCOUNTS, AccountViewCache.ACCOUNT_IDS_BY_USER);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
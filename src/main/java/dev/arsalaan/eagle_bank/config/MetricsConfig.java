@@ -0,0 +1,47 @@
+package dev.arsalaan.eagle_bank.config;
+
+import dev.arsalaan.eagle_bank.security.CaffeineUserCache;
+import dev.arsalaan.eagle_bank.security.VerifiedTokenCache;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserCache;
+
+/*
+ * Application metrics on top of what Actuator records out of the box
+ * (http.server.requests, hikaricp.connections.acquire, spring.data.repository.invocations, JVM).
+ */
+@Configuration
+public class MetricsConfig {
+
+    // enables @Timed on the service classes (app.service timer, tagged with class and method)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // hit rate of the authenticated-user cache (cache.gets{cache="users",result="hit|miss"})
+    @Bean
+    public MeterBinder userCacheMetrics(UserCache userCache) {
+        return registry -> {
+            if (userCache instanceof CaffeineUserCache caffeineUserCache) {
+                CaffeineCacheMetrics.monitor(registry, caffeineUserCache.getCache(), "users");
+            }
+        };
+    }
+
+    // signature verifications skipped by the verified-token cache (cache.gets{cache="jwt-tokens"}), when enabled
+    @Bean
+    public MeterBinder verifiedTokenCacheMetrics(VerifiedTokenCache verifiedTokenCache) {
+        return registry -> {
+            if (verifiedTokenCache.isEnabled()) {
+                CaffeineCacheMetrics.monitor(registry, verifiedTokenCache.getCache(), "jwt-tokens");
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package dev.arsalaan.eagle_bank.config;
+
+import dev.arsalaan.eagle_bank.service.FileOutboxSink;
+import dev.arsalaan.eagle_bank.service.InMemoryOutboxSink;
+import dev.arsalaan.eagle_bank.service.OutboxSink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * The transactional outbox is opt-in (app.outbox.enabled): without it no outbox rows are
+ * written, no relay runs and no sink is opened.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true")
+public class OutboxConfig {
+
+    // Where OutboxRelay delivers posting events: "file" (NDJSON, default) or "memory" (tests).
+    // The file is never rotated; a broker-backed sink is another OutboxSink implementation.
+    @Bean
+    public OutboxSink outboxSink(
+            @Value("${app.outbox.sink:file}") String sink,
+            @Value("${app.outbox.file:outbox-events.ndjson}") Path file,
+            ObjectMapper objectMapper) throws IOException {
+
+        return switch (sink) {
+            case "file" -> new FileOutboxSink(file, objectMapper);
+            case "memory" -> new InMemoryOutboxSink();
+            default -> throw new IllegalArgumentException("Unknown app.outbox.sink: " + sink);
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package dev.arsalaan.eagle_bank.config;
+
+import dev.arsalaan.eagle_bank.datasource.ReadReplicaRoutingDataSource;
+import dev.arsalaan.eagle_bank.datasource.ReadYourWritesFilter;
+import dev.arsalaan.eagle_bank.datasource.ReplicaLagMonitor;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/*
+ * Optional read replica (app.datasource.replica.enabled). Replaces the auto-configured
+ * DataSource with two pools, "primary" (spring.datasource.*) and "replica"
+ * (app.datasource.replica.*), behind a routing DataSource: read-only transactions use the
+ * replica, everything else (and schema management) the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag:1s}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor replicaLagMonitor) {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, replica, replicaLagMonitor);
+        routing.afterPropertiesSet();
+
+        // the pool is picked at the first statement, once the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Should be longer than max-lag: after that the replica has caught up with the user's writes.
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${app.datasource.replica.sticky-window:5s}") Duration stickyWindow) {
+        return new ReadYourWritesFilter(stickyWindow);
+    }
+}
@@ -1,9 +1,14 @@
 package dev.arsalaan.eagle_bank.config;
 
+import dev.arsalaan.eagle_bank.security.BoundedPasswordEncoder;
 import dev.arsalaan.eagle_bank.security.JwtRequestFilter;
 
+import jakarta.servlet.DispatcherType;
+
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,6 +18,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -36,10 +42,16 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // streamed responses (exports) finish on an async dispatch; the request was
+                        // already authorized on the original dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, "/v1/users").permitAll()
                         .requestMatchers(HttpMethod.POST, "/v1/users/login").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/v1/users/refresh").permitAll()
                         .requestMatchers("/error").permitAll() // avoids 403 on validation or other errors
                         .requestMatchers("/h2-console/**").permitAll() // dev only
+                        // scraped by Prometheus; keep /actuator off the public ingress
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
                         .requestMatchers("/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html")
@@ -65,6 +77,8 @@ public class SecurityConfig {
 
         config.setAllowedHeaders(List.of("*")); // allow all headers
 
+        config.setExposedHeaders(List.of("X-Next-Cursor", "ETag")); // pagination, conditional GETs
+
         config.setAllowCredentials(true); // if using cookies/auth headers
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -78,8 +92,23 @@ public class SecurityConfig {
         return configuration.getAuthenticationManager();
     }
 
+    /*
+     * Hashes are stored as "{bcrypt}$2a$<cost>$...". Hashes from before the prefix was
+     * introduced are matched as plain bcrypt; those, and hashes with a lower cost than
+     * configured, are re-hashed on the next successful login (JwtUserDetailsService.updatePassword).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${app.security.password.hash-threads:0}") int hashThreads,
+            @Value("${app.security.password.hash-queue-capacity:100}") int hashQueueCapacity) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        // default: half the cores, so hashing can never use all of them
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(encoder, threads, hashQueueCapacity);
     }
 }
@@ -1,23 +1,33 @@
 package dev.arsalaan.eagle_bank.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import dev.arsalaan.eagle_bank.dto.AccountRequest;
 import dev.arsalaan.eagle_bank.dto.AccountResponse;
-import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+import dev.arsalaan.eagle_bank.dto.BalanceResponse;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+import dev.arsalaan.eagle_bank.service.AccountEventBus;
 import dev.arsalaan.eagle_bank.service.AccountService;
+import dev.arsalaan.eagle_bank.service.BalanceService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,49 +37,104 @@ import lombok.extern.slf4j.Slf4j;
 public class AccountController {
 
   private final AccountService accountService;
-  private final JwtTokenUtil jwtTokenUtil;
+  private final BalanceService balanceService;
+  private final AccountEventBus accountEventBus;
 
-  public AccountController(AccountService accountService, JwtTokenUtil jwtTokenUtil) {
+  public AccountController(AccountService accountService, BalanceService balanceService,
+      AccountEventBus accountEventBus) {
     this.accountService = accountService;
-    this.jwtTokenUtil = jwtTokenUtil;
+    this.balanceService = balanceService;
+    this.accountEventBus = accountEventBus;
   }
 
+  /*
+   * Responses carry an ETag built from account versions. A request with If-None-Match is
+   * first checked against the versions alone (cache or one small query), so an unchanged
+   * resource gets a 304 without loading, mapping or serializing any account.
+   */
   @GetMapping
-  public ResponseEntity<List<AccountResponse>> getAllAccounts(@RequestHeader("Authorization") String authHeader) {
-    log.info("GET /v1/accounts called");
+  public ResponseEntity<List<AccountResponse>> getAllAccounts(@AuthenticationPrincipal JwtPrincipal principal,
+      WebRequest webRequest) {
+    log.debug("GET /v1/accounts called");
 
-    String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
-    List<AccountResponse> accounts = accountService.getAllAccounts(token);
+    if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+        && webRequest.checkNotModified(accountService.getAccountListETag(principal))) {
+      return null;
+    }
 
-    log.info("Retrieved {} accounts", accounts.size());
+    List<AccountResponse> accounts = accountService.getAllAccounts(principal);
+
+    log.debug("Retrieved {} accounts", accounts.size());
+
+    // sets the ETag header (and still answers 304 if the loaded versions match)
+    if (webRequest.checkNotModified(AccountService.accountListETag(accounts))) {
+      return null;
+    }
     return ResponseEntity.ok(accounts);
   }
 
   @GetMapping("/{accountId}")
   public ResponseEntity<AccountResponse> getAccountById(
       @PathVariable Long accountId,
-      @RequestHeader("Authorization") String authHeader) {
+      @AuthenticationPrincipal JwtPrincipal principal,
+      WebRequest webRequest) {
+
+    log.debug("GET /v1/accounts/{} called", accountId);
 
-    log.info("GET /v1/accounts/{} called", accountId);
+    // the ETag is null (no 304) for a missing or foreign account; the regular path returns 404/403
+    if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+        && webRequest.checkNotModified(accountService.getAccountETag(accountId, principal))) {
+      return null;
+    }
 
-    String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
-    AccountResponse account = accountService.getAccountById(accountId, token);
+    AccountResponse account = accountService.getAccountById(accountId, principal);
 
-    log.info("Retrieved account with id {}", accountId);
+    log.debug("Retrieved account with id {}", accountId);
+
+    if (webRequest.checkNotModified(AccountService.accountETag(account))) {
+      return null;
+    }
     return ResponseEntity.ok(account);
   }
 
+  // current balance, or the balance as of a point in time (including transactions created at asOf)
+  @GetMapping("/{accountId}/balance")
+  public ResponseEntity<BalanceResponse> getBalance(
+      @PathVariable Long accountId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf,
+      @AuthenticationPrincipal JwtPrincipal principal) {
+
+    log.debug("GET /v1/accounts/{}/balance called", accountId);
+
+    BalanceResponse balance = balanceService.getBalance(accountId, asOf, principal);
+
+    log.debug("Retrieved balance for account with id {}", accountId);
+    return ResponseEntity.ok(balance);
+  }
+
+  // Server-Sent Events: one "transaction" event (with balanceAfter) per committed posting, plus heartbeats
+  @GetMapping(value = "/{accountId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamAccountEvents(
+      @PathVariable Long accountId,
+      @AuthenticationPrincipal JwtPrincipal principal) {
+
+    log.debug("GET /v1/accounts/{}/events called", accountId);
+
+    SseEmitter emitter = accountEventBus.subscribe(accountId, principal);
+
+    log.debug("Opened event stream for account with id {}", accountId);
+    return emitter;
+  }
+
   @PostMapping
   public ResponseEntity<AccountResponse> createAccount(@Valid @RequestBody AccountRequest accountRequest,
-      @RequestHeader("Authorization") String authHeader) {
-
-    log.info("POST /v1/accounts called");
+      @AuthenticationPrincipal JwtPrincipal principal) {
 
-    String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
+    log.debug("POST /v1/accounts called");
 
-    AccountResponse account = accountService.createAccount(accountRequest, token);
+    AccountResponse account = accountService.createAccount(accountRequest, principal);
 
-    log.info("Account created successfully");
+    log.debug("Account created successfully");
     return ResponseEntity.status(HttpStatus.CREATED).body(account);
   }
 
@@ -77,28 +142,26 @@ public class AccountController {
   public ResponseEntity<AccountResponse> updateAccountById(
       @PathVariable Long accountId,
       @RequestBody AccountRequest accountRequest,
-      @RequestHeader("Authorization") String authHeader) {
+      @AuthenticationPrincipal JwtPrincipal principal) {
 
-    log.info("PATCH /v1/accounts/{} called", accountId);
+    log.debug("PATCH /v1/accounts/{} called", accountId);
 
-    String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
-    AccountResponse updatedAccount = accountService.updateAccountById(accountId, accountRequest, token);
+    AccountResponse updatedAccount = accountService.updateAccountById(accountId, accountRequest, principal);
 
-    log.info("Account updated successfully");
+    log.debug("Account updated successfully");
     return ResponseEntity.ok(updatedAccount);
   }
 
   @DeleteMapping("/{accountId}")
   public ResponseEntity<Void> deleteAccountById(
       @PathVariable Long accountId,
-      @RequestHeader("Authorization") String authHeader) {
+      @AuthenticationPrincipal JwtPrincipal principal) {
 
-    log.info("DELETE /v1/accounts/{} called", accountId);
+    log.debug("DELETE /v1/accounts/{} called", accountId);
 
-    String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
-    accountService.deleteAccountById(accountId, token);
+    accountService.deleteAccountById(accountId, principal);
 
-    log.info("Account deleted successfully");
+    log.debug("Account deleted successfully");
     return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
   }
 }
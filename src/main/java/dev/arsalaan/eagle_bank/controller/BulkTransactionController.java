@@ -0,0 +1,46 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.arsalaan.eagle_bank.dto.BulkTransactionRequest;
+import dev.arsalaan.eagle_bank.dto.BulkTransactionResponse;
+import dev.arsalaan.eagle_bank.enums.BulkMode;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+import dev.arsalaan.eagle_bank.service.BulkTransactionService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/v1/transactions")
+public class BulkTransactionController {
+
+  private final BulkTransactionService bulkTransactionService;
+
+  public BulkTransactionController(BulkTransactionService bulkTransactionService) {
+    this.bulkTransactionService = bulkTransactionService;
+  }
+
+  // per-item results; an ALL_OR_NOTHING batch that was rolled back returns 422
+  @PostMapping("/bulk")
+  public ResponseEntity<BulkTransactionResponse> createTransactions(
+      @Valid @RequestBody BulkTransactionRequest bulkTransactionRequest,
+      @AuthenticationPrincipal JwtPrincipal principal) {
+
+    log.debug("POST /v1/transactions/bulk called with {} transactions",
+        bulkTransactionRequest.getTransactions().size());
+
+    BulkTransactionResponse response = bulkTransactionService.createTransactions(bulkTransactionRequest, principal);
+
+    log.debug("Bulk request processed: {} posted, {} rejected", response.getPosted(), response.getRejected());
+
+    boolean rolledBack = response.getMode() == BulkMode.ALL_OR_NOTHING && response.getRejected() > 0;
+    return ResponseEntity.status(rolledBack ? HttpStatus.UNPROCESSABLE_ENTITY : HttpStatus.OK).body(response);
+  }
+}
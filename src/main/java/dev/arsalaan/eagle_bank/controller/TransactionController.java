@@ -1,20 +1,31 @@
 package dev.arsalaan.eagle_bank.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import dev.arsalaan.eagle_bank.dto.TransactionPage;
 import dev.arsalaan.eagle_bank.dto.TransactionRequest;
 import dev.arsalaan.eagle_bank.dto.TransactionResponse;
-import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+import dev.arsalaan.eagle_bank.service.TransactionExportService;
 import dev.arsalaan.eagle_bank.service.TransactionService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -24,55 +35,106 @@ import lombok.extern.slf4j.Slf4j;
 @RequestMapping("/v1/accounts/{accountId}/transactions")
 public class TransactionController {
 
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
   private final TransactionService transactionService;
-  private final JwtTokenUtil jwtTokenUtil;
+  private final TransactionExportService transactionExportService;
 
-  public TransactionController(TransactionService transactionService, JwtTokenUtil jwtTokenUtil) {
+  public TransactionController(TransactionService transactionService,
+      TransactionExportService transactionExportService) {
     this.transactionService = transactionService;
-    this.jwtTokenUtil = jwtTokenUtil;
+    this.transactionExportService = transactionExportService;
   }
 
+  // paginated, newest first; the token for the next page is returned in the X-Next-Cursor header
   @GetMapping
   public ResponseEntity<List<TransactionResponse>> getAllTransactionsByAccountId(
       @PathVariable Long accountId,
-      @RequestHeader("Authorization") String authHeader) {
-
-    log.info("GET /v1/accounts/{}/transactions called", accountId);
-
-    String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
-    List<TransactionResponse> transactions = transactionService.getAllTransactionsByAccountId(accountId, token);
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+      @RequestParam(required = false) TransactionType type,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(required = false) String cursor,
+      @AuthenticationPrincipal JwtPrincipal principal,
+      WebRequest webRequest) {
+
+    log.debug("GET /v1/accounts/{}/transactions called", accountId);
+
+    // If-None-Match: 304 for an unchanged account version, before any transaction is read
+    if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+        && webRequest.checkNotModified(transactionService.getTransactionListETag(accountId, principal))) {
+      return null;
+    }
+
+    TransactionPage page = transactionService.getAllTransactionsByAccountId(accountId, from, to, type, limit, cursor,
+        principal);
+
+    log.debug("Retrieved {} transactions for account with id {}", page.getTransactions().size(), accountId);
+
+    if (webRequest.checkNotModified(page.getETag())) {
+      return null;
+    }
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (page.getNextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return response.body(page.getTransactions());
+  }
 
-    log.info("Retrieved {} transactions for account with id {}", transactions.size(), accountId);
-    return ResponseEntity.ok(transactions);
+  // full statement, streamed as NDJSON (default) or CSV, oldest first
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportTransactions(
+      @PathVariable Long accountId,
+      @RequestParam(defaultValue = "ndjson") String format,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+      @RequestParam(required = false) TransactionType type,
+      @AuthenticationPrincipal JwtPrincipal principal) {
+
+    log.debug("GET /v1/accounts/{}/transactions/export called", accountId);
+
+    TransactionExportService.Format exportFormat = TransactionExportService.parseFormat(format);
+    StreamingResponseBody body = transactionExportService.exportTransactions(accountId, exportFormat, from, to, type,
+        principal);
+
+    boolean csv = exportFormat == TransactionExportService.Format.CSV;
+    return ResponseEntity.ok()
+        .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"account-" + accountId + "-transactions." + (csv ? "csv" : "ndjson") + "\"")
+        .body(body);
   }
 
   @GetMapping("/{transactionId}")
   public ResponseEntity<TransactionResponse> getTransactionById(
       @PathVariable Long accountId,
       @PathVariable Long transactionId,
-      @RequestHeader("Authorization") String authHeader) {
+      @AuthenticationPrincipal JwtPrincipal principal) {
 
-    log.info("GET /v1/accounts/{}/transactions/{} called", accountId, transactionId);
+    log.debug("GET /v1/accounts/{}/transactions/{} called", accountId, transactionId);
 
-    String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
-    TransactionResponse transaction = transactionService.getTransactionById(accountId, transactionId, token);
+    TransactionResponse transaction = transactionService.getTransactionById(accountId, transactionId, principal);
 
-    log.info("Retrieved transaction with id {}", transactionId);
+    log.debug("Retrieved transaction with id {}", transactionId);
     return ResponseEntity.ok(transaction);
   }
 
+  // safe to retry with the same Idempotency-Key: the original response is returned
   @PostMapping
   public ResponseEntity<TransactionResponse> createTransaction(
       @PathVariable Long accountId,
       @Valid @RequestBody TransactionRequest transactionRequest,
-      @RequestHeader("Authorization") String authHeader) {
+      @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+      @AuthenticationPrincipal JwtPrincipal principal) {
 
-    log.info("POST /v1/accounts/{}/transactions called", accountId);
+    log.debug("POST /v1/accounts/{}/transactions called", accountId);
 
-    String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
-    TransactionResponse transaction = transactionService.createTransaction(accountId, transactionRequest, token);
+    TransactionResponse transaction = transactionService.createTransaction(accountId, transactionRequest,
+        idempotencyKey, principal);
 
-    log.info("Transaction created successfully");
+    log.debug("Transaction created successfully");
     return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
   }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.arsalaan.eagle_bank.dto.TransactionResponse;
+import dev.arsalaan.eagle_bank.dto.TransferRequest;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+import dev.arsalaan.eagle_bank.service.TransactionService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/v1/accounts/{accountId}/transfers")
+public class TransferController {
+
+  private final TransactionService transactionService;
+
+  public TransferController(TransactionService transactionService) {
+    this.transactionService = transactionService;
+  }
+
+  // returns the TRANSFER_OUT transaction on the source account
+  @PostMapping
+  public ResponseEntity<TransactionResponse> createTransfer(
+      @PathVariable Long accountId,
+      @Valid @RequestBody TransferRequest transferRequest,
+      @AuthenticationPrincipal JwtPrincipal principal) {
+
+    log.debug("POST /v1/accounts/{}/transfers called", accountId);
+
+    TransactionResponse transaction = transactionService.transfer(accountId, transferRequest, principal);
+
+    log.debug("Transfer from account {} to account {} completed", accountId, transferRequest.getToAccountId());
+    return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
+  }
+}
@@ -1,17 +1,19 @@
 package dev.arsalaan.eagle_bank.controller;
 
 import dev.arsalaan.eagle_bank.dto.LoginRequest;
+import dev.arsalaan.eagle_bank.dto.RefreshRequest;
 import dev.arsalaan.eagle_bank.dto.JwtResponse;
 import dev.arsalaan.eagle_bank.dto.RegisterRequest;
 import dev.arsalaan.eagle_bank.dto.UserRequest;
 import dev.arsalaan.eagle_bank.dto.UserResponse;
-import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
 import dev.arsalaan.eagle_bank.service.UserService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,54 +24,56 @@ import org.springframework.web.bind.annotation.PathVariable;
 public class UserController {
 
     private final UserService userService;
-    private final JwtTokenUtil jwtTokenUtil;
 
-    public UserController(UserService userService, JwtTokenUtil jwtTokenUtil) {
+    public UserController(UserService userService) {
         this.userService = userService;
-        this.jwtTokenUtil = jwtTokenUtil;
     }
 
     @GetMapping("/me")
-    public ResponseEntity<UserResponse> getUserByToken(@RequestHeader("Authorization") String authHeader) {
-        log.info("GET /v1/users/me called");
+    public ResponseEntity<UserResponse> getCurrentUser(@AuthenticationPrincipal JwtPrincipal principal) {
+        log.debug("GET /v1/users/me called");
 
-        String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
-        UserResponse user = userService.getUserByToken(token);
+        UserResponse user = userService.getCurrentUser(principal);
 
-        log.info("Current user retrieved successfully: {}", user.getEmail());
+        log.debug("Current user retrieved successfully: {}", user.getEmail());
         return ResponseEntity.ok(user);
     }
 
     @GetMapping("/{userId}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable Long userId,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        log.info("GET /v1/users/{} called", userId);
-        String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
+        log.debug("GET /v1/users/{} called", userId);
 
-        UserResponse user = userService.getUserById(userId, token);
+        UserResponse user = userService.getUserById(userId, principal);
 
-        log.info("User with id {} retrieved successfully", userId);
+        log.debug("User with id {} retrieved successfully", userId);
         return ResponseEntity.ok(user);
     }
 
     @PostMapping("/login")
     public ResponseEntity<JwtResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        log.info("POST /v1/users/login called for email: {}", loginRequest.getEmail());
+        log.debug("POST /v1/users/login called for email: {}", loginRequest.getEmail());
         JwtResponse jwtResponse = userService.login(loginRequest);
-        log.info("User {} logged in successfully", loginRequest.getEmail());
+        log.debug("User {} logged in successfully", loginRequest.getEmail());
+        return ResponseEntity.ok(jwtResponse);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody RefreshRequest refreshRequest) {
+        log.debug("POST /v1/users/refresh called");
+        JwtResponse jwtResponse = userService.refresh(refreshRequest);
+        log.debug("Access token refreshed for user {}", jwtResponse.getEmail());
         return ResponseEntity.ok(jwtResponse);
     }
 
     @PostMapping
     public ResponseEntity<Void> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
-        log.info("POST /v1/users called to register user: {} {} ({})",
-                registerRequest.getFirstName(), registerRequest.getLastName(), registerRequest.getEmail());
+        log.debug("POST /v1/users called to register user: {}", registerRequest.getEmail());
 
         userService.register(registerRequest);
 
-        log.info("User {} {} ({}) registered successfully",
-                registerRequest.getFirstName(), registerRequest.getLastName(), registerRequest.getEmail());
+        log.debug("User {} registered successfully", registerRequest.getEmail());
 
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
@@ -77,29 +81,25 @@ public class UserController {
     @PatchMapping("/{userId}")
     public ResponseEntity<UserResponse> updateUserById(@PathVariable Long userId,
             @Valid @RequestBody UserRequest updateUserRequest,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        log.info("PATCH /v1/users/{} called", userId);
+        log.debug("PATCH /v1/users/{} called", userId);
 
-        String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
+        UserResponse updatedUser = userService.updateUserById(userId, updateUserRequest, principal);
 
-        UserResponse updatedUser = userService.updateUserById(userId, updateUserRequest, token);
-
-        log.info("User {} {} updated successfully", updatedUser.getFirstName(), updatedUser.getLastName());
+        log.debug("User with id {} updated successfully", userId);
         return ResponseEntity.ok(updatedUser);
     }
 
     @DeleteMapping("/{userId}")
     public ResponseEntity<Void> deleteUserById(@PathVariable Long userId,
-            @RequestHeader("Authorization") String authHeader) {
-
-        log.info("DELETE /v1/users/{} called", userId);
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        String token = jwtTokenUtil.getJwtTokenFromHeader(authHeader);
+        log.debug("DELETE /v1/users/{} called", userId);
 
-        userService.deleteUserById(userId, token);
+        userService.deleteUserById(userId, principal);
 
-        log.info("User with id {} deleted successfully", userId);
+        log.debug("User with id {} deleted successfully", userId);
         return ResponseEntity.noContent().build();
     }
 
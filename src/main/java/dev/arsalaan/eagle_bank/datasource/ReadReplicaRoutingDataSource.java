@@ -0,0 +1,66 @@
+package dev.arsalaan.eagle_bank.datasource;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager asks for a
+ * connection before the transaction is marked read-only, so the pool can only be chosen
+ * when the first statement runs.
+ * Reads still go to the primary while the replica is lagging (ReplicaLagMonitor) or the
+ * current request requires it (read-your-writes, see ReadYourWritesFilter), and for reads
+ * whose result is cached (onPrimary).
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    // for the current thread only; cleared with clearPrimaryRequired()
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static void clearPrimaryRequired() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    // runs the action (a whole transaction) on the primary, restoring the previous setting afterwards
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean replica = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && PRIMARY_REQUIRED.get() == null
+                && lagMonitor.isReplicaUsable();
+
+        return replica ? Target.REPLICA : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,73 @@
+package dev.arsalaan.eagle_bank.datasource;
+
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/*
+ * Read-your-writes on top of replica routing. Requests that may write (anything but
+ * GET/HEAD/OPTIONS) read from the primary throughout, and the same user's requests keep
+ * reading from the primary for a short window afterwards, so users never read a replica
+ * that has not caught up with their own postings. Runs after Spring Security, which
+ * provides the user.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    // users who wrote within the window (local to this instance, like the caches)
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration stickyWindow) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Long userId = currentUserId();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+
+        if (write && userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+        if (write || (userId != null && recentWriters.getIfPresent(userId) != null)) {
+            ReadReplicaRoutingDataSource.requirePrimary();
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadReplicaRoutingDataSource.clearPrimaryRequired();
+            // the window counts from the end of the write
+            if (write && userId != null) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.getUserId();
+        }
+        return null;
+    }
+}
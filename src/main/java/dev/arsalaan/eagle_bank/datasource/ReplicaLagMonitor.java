@@ -0,0 +1,79 @@
+package dev.arsalaan.eagle_bank.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/*
+ * Polls the replica for its replication lag. While the lag exceeds the tolerance, or the
+ * replica cannot be reached, ReadReplicaRoutingDataSource sends reads to the primary.
+ * The default query is for a PostgreSQL streaming replica: zero when everything received
+ * has been replayed, otherwise the age of the last replayed transaction.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String POSTGRES_LAG_QUERY = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()"
+            + " then 0 else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final AtomicLong lagMillis = new AtomicLong(-1);
+
+    // null (unusable) until the first check
+    private volatile Boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery;
+        this.maxLag = maxLag;
+
+        Gauge.builder("datasource.replica.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Replication lag of the read replica in seconds (-1 when unreachable)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.isReplicaUsable() ? 1 : 0)
+                .description("1 while reads are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return Boolean.TRUE.equals(replicaUsable);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:1s}")
+    public void check() {
+        try {
+            // null when the server is not replaying anything, i.e. not behind
+            Double lagSeconds = replica.queryForObject(lagQuery, Double.class);
+            long lag = lagSeconds == null ? 0 : Math.round(lagSeconds * 1000);
+            lagMillis.set(lag);
+            update(lag <= maxLag.toMillis(), "lag " + lag + " ms");
+        } catch (DataAccessException ex) {
+            lagMillis.set(-1);
+            update(false, ex.getMessage());
+        }
+    }
+
+    private void update(boolean usable, String reason) {
+        if (!Boolean.valueOf(usable).equals(replicaUsable)) {
+            if (usable) {
+                log.info("Read replica in use ({})", reason);
+            } else {
+                log.warn("Read replica bypassed, reads go to the primary ({})", reason);
+            }
+        }
+        replicaUsable = usable;
+    }
+}
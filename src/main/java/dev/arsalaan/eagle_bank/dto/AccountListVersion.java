@@ -0,0 +1,26 @@
+package dev.arsalaan.eagle_bank.dto;
+
+import java.util.List;
+
+/*
+ * Summary of a user's accounts that changes whenever GET /v1/accounts would:
+ * postings and updates raise versionSum, deletions lower count, and creations raise maxId
+ * (ids only grow). Used as the ETag of the account list.
+ */
+public record AccountListVersion(Long count, Long maxId, Long versionSum) {
+
+  // same value as AccountRepository.findListVersion, computed from already loaded views
+  public static AccountListVersion of(List<AccountResponse> accounts) {
+    long maxId = 0;
+    long versionSum = 0;
+    for (AccountResponse account : accounts) {
+      maxId = Math.max(maxId, account.getId());
+      versionSum += account.getVersion();
+    }
+    return new AccountListVersion((long) accounts.size(), maxId, versionSum);
+  }
+
+  public String toETag() {
+    return "\"" + count + "." + (maxId == null ? 0 : maxId) + "." + (versionSum == null ? 0 : versionSum) + "\"";
+  }
+}
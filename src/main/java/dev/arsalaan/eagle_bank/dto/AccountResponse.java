@@ -2,6 +2,8 @@ package dev.arsalaan.eagle_bank.dto;
 
 import lombok.Data;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -14,4 +16,7 @@ public class AccountResponse {
   private String accountType;
   private BigDecimal balance;
   private LocalDateTime createdAt;
+
+  @JsonIgnore // sent as the ETag header, not in the body
+  private long version;
 }
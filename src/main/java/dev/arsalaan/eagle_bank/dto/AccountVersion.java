@@ -0,0 +1,5 @@
+package dev.arsalaan.eagle_bank.dto;
+
+// an account id with one of its versions (e.g. of its oldest undelivered outbox event)
+public record AccountVersion(Long accountId, Long version) {
+}
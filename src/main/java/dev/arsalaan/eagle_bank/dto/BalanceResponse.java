@@ -0,0 +1,18 @@
+package dev.arsalaan.eagle_bank.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceResponse {
+
+  private Long accountId;
+  private BigDecimal balance;
+  private LocalDateTime asOf;
+}
@@ -0,0 +1,10 @@
+package dev.arsalaan.eagle_bank.dto;
+
+import java.math.BigDecimal;
+
+/*
+ * An account's balance and version, read together right after a posting
+ * (AccountRepository.findBalanceVersionById).
+ */
+public record BalanceVersion(BigDecimal balance, Long version) {
+}
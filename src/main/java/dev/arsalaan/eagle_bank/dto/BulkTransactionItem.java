@@ -0,0 +1,13 @@
+package dev.arsalaan.eagle_bank.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BulkTransactionItem extends TransactionRequest {
+
+  @NotNull(message = "Account id is required")
+  private Long accountId;
+}
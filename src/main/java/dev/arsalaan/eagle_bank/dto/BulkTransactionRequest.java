@@ -0,0 +1,17 @@
+package dev.arsalaan.eagle_bank.dto;
+
+import java.util.List;
+
+import dev.arsalaan.eagle_bank.enums.BulkMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Data
+public class BulkTransactionRequest {
+
+  private BulkMode mode = BulkMode.BEST_EFFORT;
+
+  @NotEmpty(message = "At least one transaction is required")
+  private List<@Valid BulkTransactionItem> transactions;
+}
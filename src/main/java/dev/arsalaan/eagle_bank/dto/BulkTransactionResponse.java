@@ -0,0 +1,19 @@
+package dev.arsalaan.eagle_bank.dto;
+
+import java.util.List;
+
+import dev.arsalaan.eagle_bank.enums.BulkMode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransactionResponse {
+
+  private BulkMode mode;
+  private int posted;
+  private int rejected;
+  private List<BulkTransactionResult> results;
+}
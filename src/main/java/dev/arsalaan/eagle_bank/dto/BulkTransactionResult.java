@@ -0,0 +1,17 @@
+package dev.arsalaan.eagle_bank.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransactionResult {
+
+  private int index; // position in the request
+  private Long accountId;
+  private int status; // HTTP status the item would have had as a single request
+  private TransactionResponse transaction; // set when posted
+  private String error; // set when rejected
+}
@@ -10,4 +10,5 @@ import lombok.Setter;
 public class JwtResponse {
     private String email;
     private String accessToken;
+    private String refreshToken;
 }
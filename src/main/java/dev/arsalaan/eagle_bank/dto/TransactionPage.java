@@ -0,0 +1,16 @@
+package dev.arsalaan.eagle_bank.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class TransactionPage {
+
+  private List<TransactionResponse> transactions;
+  private String nextCursor; // null on the last page
+  private String eTag; // changes with every posting to the account
+
+}
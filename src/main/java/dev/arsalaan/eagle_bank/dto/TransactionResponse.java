@@ -16,5 +16,7 @@ public class TransactionResponse {
   private TransactionType transactionType;
   private BigDecimal amount;
   private LocalDateTime createdAt;
+  private BigDecimal balanceAfter;
+  private Long linkedTransactionId;
 
 }
@@ -0,0 +1,18 @@
+package dev.arsalaan.eagle_bank.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class TransferRequest {
+
+  @NotNull(message = "Destination account id is required")
+  private Long toAccountId;
+
+  @NotNull(message = "Amount is required")
+  @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+  private BigDecimal amount;
+}
@@ -0,0 +1,6 @@
+package dev.arsalaan.eagle_bank.enums;
+
+public enum BulkMode {
+  ALL_OR_NOTHING, // any failed item rolls back the whole batch
+  BEST_EFFORT // valid items are posted, failed items are reported
+}
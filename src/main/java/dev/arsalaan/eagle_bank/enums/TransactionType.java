@@ -2,5 +2,15 @@ package dev.arsalaan.eagle_bank.enums;
 
 public enum TransactionType {
   DEPOSIT,
-  WITHDRAWAL
+  WITHDRAWAL,
+  TRANSFER_IN, // credit side of a transfer (only created by the transfers endpoint)
+  TRANSFER_OUT; // debit side of a transfer
+
+  public boolean isCredit() {
+    return this == DEPOSIT || this == TRANSFER_IN;
+  }
+
+  public boolean isTransfer() {
+    return this == TRANSFER_IN || this == TRANSFER_OUT;
+  }
 }
@@ -1,5 +1,7 @@
 package dev.arsalaan.eagle_bank.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -34,6 +36,12 @@ not just to an individual controller.
 @Slf4j
 public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
 
+  private final MeterRegistry meterRegistry;
+
+  public ApiExceptionHandler(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
   /*
    * Provides handling for exceptions throughout the app.
    * Created to encapsulate errors with more detail and essentially replace
@@ -50,6 +58,12 @@ public class ApiExceptionHandler extends ResponseEntityExceptionHandler {
 
     log.error("An exception error has occurred with message: {}", ex.getMessage());
 
+    // api.errors{status="404"} etc.
+    Counter.builder("api.errors")
+        .tag("status", String.valueOf(ex.getHttpStatus().value()))
+        .register(meterRegistry)
+        .increment();
+
     return new ResponseEntity<>(apiException, ex.getHttpStatus());
   }
 
@@ -21,6 +21,7 @@ public interface AccountMapper {
   @Mapping(target = "accountNumber", ignore = true)
   @Mapping(target = "balance", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
+  @Mapping(target = "version", ignore = true)
   Account toAccount(AccountRequest accountRequest);
 
 }
\ No newline at end of file
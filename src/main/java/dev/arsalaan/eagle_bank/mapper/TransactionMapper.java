@@ -19,6 +19,8 @@ public interface TransactionMapper {
   @Mapping(target = "id", ignore = true)
   @Mapping(target = "account", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
+  @Mapping(target = "balanceAfter", ignore = true)
+  @Mapping(target = "linkedTransactionId", ignore = true)
   Transaction toTransaction(TransactionRequest transactionRequest);
 
 }
@@ -0,0 +1,72 @@
+package dev.arsalaan.eagle_bank.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+/*
+ * Account and transaction ids moved from IDENTITY columns to pooled sequences (increment 50).
+ * On a database that already has rows the new sequences would start at 1 and hand out ids
+ * that are taken, so this creates each sequence if needed and moves it past MAX(id).
+ * Hibernate's pooled optimizer uses nextval - 49 .. nextval as a block, so the sequence is
+ * restarted at MAX(id) + 50. A sequence that is already far enough ahead is left alone,
+ * which keeps blocks held by running instances from being handed out twice.
+ * Runs before Hibernate's schema update; written against JDBC so it works on PostgreSQL
+ * and on the H2 test database alike.
+ */
+@Component
+public class V1__PooledSequenceIds extends BaseJavaMigration {
+
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES_BY_TABLE = Map.of(
+            "accounts", "accounts_seq",
+            "transactions", "transactions_seq");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        for (Map.Entry<String, String> entry : SEQUENCES_BY_TABLE.entrySet()) {
+            String table = entry.getKey();
+            String sequence = entry.getValue();
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create sequence if not exists " + sequence
+                        + " start with 1 increment by " + ALLOCATION_SIZE);
+                if (!tableExists(connection, table)) {
+                    continue;
+                }
+
+                long maxId = queryLong(statement, "select coalesce(max(id), 0) from " + table);
+                long next = queryLong(statement, "select nextval('" + sequence + "')");
+                if (next - ALLOCATION_SIZE < maxId) {
+                    statement.execute("alter sequence " + sequence + " restart with " + (maxId + ALLOCATION_SIZE));
+                }
+            }
+        }
+    }
+
+    private boolean tableExists(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+
+        try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), name, null)) {
+            return tables.next();
+        }
+    }
+
+    private long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
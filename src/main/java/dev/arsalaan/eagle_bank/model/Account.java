@@ -5,21 +5,27 @@ import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts", indexes = @Index(name = "idx_accounts_user_id", columnList = "user_id"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@DynamicUpdate // only write changed columns, so a rename never overwrites a concurrently posted balance
 public class Account {
 
+  // pooled sequence: ids are handed out in blocks of 50, so inserts can be JDBC-batched
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+  @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
   private Long id;
 
   private String accountNumber;
@@ -32,6 +38,11 @@ public class Account {
 
   private LocalDateTime createdAt;
 
+  // bumped by every balance change and update; the ETag of the account and its transaction list
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private long version;
+
   @JsonIgnore
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id")
@@ -0,0 +1,39 @@
+package dev.arsalaan.eagle_bank.model;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/*
+ * Balance of an account at a checkpoint: the net of all its transactions created
+ * strictly before snapshotAt. Balance lookups start from the latest snapshot and only
+ * scan the transactions posted after it.
+ */
+@Entity
+@Table(name = "balance_snapshots", uniqueConstraints = @UniqueConstraint(name = "uk_balance_snapshots_account_at",
+    columnNames = { "account_id", "snapshot_at" }))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceSnapshot {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_snapshots_seq")
+  @SequenceGenerator(name = "balance_snapshots_seq", sequenceName = "balance_snapshots_seq", allocationSize = 50)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "account_id", nullable = false)
+  private Account account;
+
+  @Column(nullable = false)
+  private LocalDateTime snapshotAt;
+
+  @Column(nullable = false)
+  private BigDecimal balance;
+}
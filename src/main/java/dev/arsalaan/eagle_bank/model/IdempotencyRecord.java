@@ -0,0 +1,45 @@
+package dev.arsalaan.eagle_bank.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/*
+ * A processed Idempotency-Key: which transaction a user's request created, plus a
+ * fingerprint of the request so a key reused for a different request can be rejected.
+ * Keys are scoped per user.
+ */
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_user_key",
+    columnNames = { "user_id", "idempotency_key" }), indexes = @Index(name = "idx_idempotency_keys_created_at",
+        columnList = "created_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_keys_seq")
+  @SequenceGenerator(name = "idempotency_keys_seq", sequenceName = "idempotency_keys_seq", allocationSize = 50)
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(name = "idempotency_key", nullable = false)
+  private String idempotencyKey;
+
+  @Column(nullable = false)
+  private String requestFingerprint;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "transaction_id", nullable = false)
+  private Transaction transaction;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+}
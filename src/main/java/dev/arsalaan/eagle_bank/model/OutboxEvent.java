@@ -0,0 +1,50 @@
+package dev.arsalaan.eagle_bank.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/*
+ * A committed posting waiting to be delivered downstream (see OutboxRelay).
+ * Written in the same DB transaction as the ledger row and deleted once delivered.
+ * accountVersion orders the events of one account; it is unique per account.
+ */
+@Entity
+@Table(name = "outbox_events", uniqueConstraints = @UniqueConstraint(name = "uk_outbox_events_account_version",
+    columnNames = { "account_id", "account_version" }),
+    indexes = @Index(name = "idx_outbox_events_created_at", columnList = "created_at, id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+  public static final String TRANSACTION_POSTED = "transaction.posted";
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+  @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+  private Long id;
+
+  @Column(name = "account_id", nullable = false)
+  private Long accountId;
+
+  @Column(name = "account_version", nullable = false)
+  private long accountVersion;
+
+  @Column(nullable = false)
+  private Long transactionId;
+
+  @Column(nullable = false)
+  private String eventType;
+
+  // the event body as JSON (a TransactionResponse)
+  @Column(nullable = false, length = 4000)
+  private String payload;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+}
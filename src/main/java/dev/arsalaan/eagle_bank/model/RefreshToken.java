@@ -0,0 +1,51 @@
+package dev.arsalaan.eagle_bank.model;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/*
+ * An issued refresh token. Only a SHA-256 hash of the opaque token is stored.
+ * Every refresh marks the presented token as used and issues a successor in the same
+ * family; presenting a used token again means it was stolen (or replayed), and the
+ * whole family is revoked.
+ */
+@Entity
+@Table(name = "refresh_tokens", uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_token_hash",
+    columnNames = "token_hash"), indexes = {
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at") })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+  @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
+  private Long id;
+
+  @Column(name = "token_hash", nullable = false)
+  private String tokenHash;
+
+  // all tokens descending from one login share a family
+  @Column(name = "family_id", nullable = false)
+  private String familyId;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  // set once the token has been exchanged for a successor
+  private LocalDateTime usedAt;
+}
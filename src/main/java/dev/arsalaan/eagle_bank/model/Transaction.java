@@ -11,7 +11,7 @@ import dev.arsalaan.eagle_bank.enums.TransactionType;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = @Index(name = "idx_transactions_account_created_id", columnList = "account_id, created_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,8 +19,10 @@ import jakarta.persistence.*;
 @Builder
 public class Transaction {
 
+  // pooled sequence: ids are handed out in blocks of 50, so inserts can be JDBC-batched
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+  @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
   private Long id;
 
   @Enumerated(EnumType.STRING)
@@ -30,6 +32,12 @@ public class Transaction {
 
   private LocalDateTime createdAt;
 
+  // account balance right after this posting, written in the same DB transaction
+  private BigDecimal balanceAfter;
+
+  // the other half of a transfer (TRANSFER_IN <-> TRANSFER_OUT)
+  private Long linkedTransactionId;
+
   @JsonIgnore
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "account_id")
@@ -1,13 +1,78 @@
 package dev.arsalaan.eagle_bank.repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import dev.arsalaan.eagle_bank.dto.AccountListVersion;
+import dev.arsalaan.eagle_bank.dto.BalanceVersion;
 import dev.arsalaan.eagle_bank.model.Account;
+import jakarta.persistence.LockModeType;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
   List<Account> findByUserId(Long userId);
 
+  // ownership checks: one query on the primary key, no lazy load of the user
+  Optional<Account> findByIdAndUserId(Long id, Long userId);
+
+  boolean existsByIdAndUserId(Long id, Long userId);
+
+  // bulk ownership check: which of the given accounts belong to the user
+  @Query("select a.id from Account a where a.user.id = :userId and a.id in :accountIds")
+  List<Long> findOwnedIds(@Param("userId") Long userId, @Param("accountIds") Collection<Long> accountIds);
+
+  @Query("select a.id from Account a where a.id in :accountIds")
+  List<Long> findExistingIds(@Param("accountIds") Collection<Long> accountIds);
+
+  // read back right after credit/debit, while this transaction still holds the row lock
+  @Query("select new dev.arsalaan.eagle_bank.dto.BalanceVersion(a.balance, a.version)"
+      + " from Account a where a.id = :accountId")
+  BalanceVersion findBalanceVersionById(@Param("accountId") Long accountId);
+
+  // conditional GETs: versions only, no entity is loaded
+  @Query("select a.version from Account a where a.id = :accountId and a.user.id = :userId")
+  Optional<Long> findVersion(@Param("accountId") Long accountId, @Param("userId") Long userId);
+
+  @Query("select new dev.arsalaan.eagle_bank.dto.AccountListVersion(count(a), max(a.id), sum(a.version))"
+      + " from Account a where a.user.id = :userId")
+  AccountListVersion findListVersion(@Param("userId") Long userId);
+
+  // account ids in batches, for background jobs
+  @Query("select a.id from Account a where a.id > :afterId order by a.id")
+  List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+  // SELECT ... FOR UPDATE, used when several postings for one account are applied together
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select a from Account a where a.id = :accountId")
+  Optional<Account> findByIdForUpdate(@Param("accountId") Long accountId);
+
+  // balance changes are single atomic UPDATEs, so concurrent postings cannot lose updates
+  @Modifying
+  @Query("update Account a set a.balance = a.balance + :amount, a.version = a.version + 1 where a.id = :accountId")
+  int credit(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+  // only succeeds (returns 1) when the balance covers the amount
+  @Modifying
+  @Query("update Account a set a.balance = a.balance - :amount, a.version = a.version + 1"
+      + " where a.id = :accountId and a.balance >= :amount")
+  int debit(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+  // PATCH semantics in one atomic UPDATE (null keeps the current value), so the version bump
+  // cannot be lost to a concurrent posting; returns 0 if the account is missing or not the user's
+  @Modifying
+  @Query("update Account a set a.accountName = coalesce(:accountName, a.accountName),"
+      + " a.accountType = coalesce(:accountType, a.accountType), a.version = a.version + 1"
+      + " where a.id = :accountId and a.user.id = :userId")
+  int updateDetails(@Param("accountId") Long accountId, @Param("userId") Long userId,
+      @Param("accountName") String accountName, @Param("accountType") String accountType);
+
 }
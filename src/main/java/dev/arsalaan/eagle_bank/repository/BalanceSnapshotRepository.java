@@ -0,0 +1,15 @@
+package dev.arsalaan.eagle_bank.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import dev.arsalaan.eagle_bank.model.BalanceSnapshot;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+  // served by the (account_id, snapshot_at) unique index
+  Optional<BalanceSnapshot> findFirstByAccountIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(Long accountId,
+      LocalDateTime at);
+}
@@ -0,0 +1,24 @@
+package dev.arsalaan.eagle_bank.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import dev.arsalaan.eagle_bank.model.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+  // record + stored transaction in one query
+  @Query("select r from IdempotencyRecord r join fetch r.transaction"
+      + " where r.userId = :userId and r.idempotencyKey = :idempotencyKey")
+  Optional<IdempotencyRecord> findWithTransaction(@Param("userId") Long userId,
+      @Param("idempotencyKey") String idempotencyKey);
+
+  @Modifying
+  @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+  int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,31 @@
+package dev.arsalaan.eagle_bank.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import dev.arsalaan.eagle_bank.dto.AccountVersion;
+import dev.arsalaan.eagle_bank.model.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+  // oldest events first, whatever their account, so a busy account cannot starve the others;
+  // rows locked by another relay are skipped, not waited for
+  @Query(value = "select * from outbox_events order by created_at, id limit :limit"
+      + " for update skip locked", nativeQuery = true)
+  List<OutboxEvent> claimBatch(@Param("limit") int limit);
+
+  // per account, the lowest version among its undelivered events other than the given ones
+  // (whoever has them locked)
+  @Query("select new dev.arsalaan.eagle_bank.dto.AccountVersion(e.accountId, min(e.accountVersion))"
+      + " from OutboxEvent e where e.accountId in :accountIds and e.id not in :excludedIds group by e.accountId")
+  List<AccountVersion> findOldestVersionsExcluding(@Param("accountIds") Collection<Long> accountIds,
+      @Param("excludedIds") Collection<Long> excludedIds);
+
+  @Query("select min(e.createdAt) from OutboxEvent e")
+  LocalDateTime findOldestCreatedAt();
+}
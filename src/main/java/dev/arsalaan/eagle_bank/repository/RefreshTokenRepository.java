@@ -0,0 +1,35 @@
+package dev.arsalaan.eagle_bank.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import dev.arsalaan.eagle_bank.model.RefreshToken;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+  // token + user (for the access token's subject and id) in one indexed lookup
+  @Query("select t from RefreshToken t join fetch t.user where t.tokenHash = :tokenHash")
+  Optional<RefreshToken> findWithUser(@Param("tokenHash") String tokenHash);
+
+  // succeeds for exactly one of any concurrent refreshes with the same token
+  @Modifying
+  @Query("update RefreshToken t set t.usedAt = :usedAt where t.id = :id and t.usedAt is null")
+  int markUsed(@Param("id") Long id, @Param("usedAt") LocalDateTime usedAt);
+
+  @Modifying
+  @Query("delete from RefreshToken t where t.familyId = :familyId")
+  int deleteFamily(@Param("familyId") String familyId);
+
+  @Modifying
+  @Query("delete from RefreshToken t where t.user.id = :userId")
+  int deleteByUserId(@Param("userId") Long userId);
+
+  @Modifying
+  @Query("delete from RefreshToken t where t.expiresAt < :cutoff")
+  int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
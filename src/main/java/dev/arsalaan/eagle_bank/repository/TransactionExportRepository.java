@@ -0,0 +1,61 @@
+package dev.arsalaan.eagle_bank.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+
+/*
+ * Streams an account's transactions straight from a JDBC cursor for statement exports.
+ * Rows are handed to the callback one at a time and never become managed entities, and
+ * the driver fetches them in blocks of app.transactions.export.fetch-size, so memory use
+ * does not depend on the size of the account history.
+ * Must be called inside a transaction: PostgreSQL only uses a server-side cursor (and
+ * honours the fetch size) when autocommit is off.
+ */
+@Repository
+public class TransactionExportRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public TransactionExportRepository(DataSource dataSource,
+      @Value("${app.transactions.export.fetch-size:1000}") int fetchSize) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+  }
+
+  public void streamByAccountId(Long accountId, LocalDateTime from, LocalDateTime to, TransactionType transactionType,
+      RowCallbackHandler rowHandler) {
+
+    StringBuilder sql = new StringBuilder(
+        "select id, transaction_type, amount, created_at, balance_after from transactions where account_id = ?");
+    List<Object> args = new ArrayList<>();
+    args.add(accountId);
+
+    if (from != null) {
+      sql.append(" and created_at >= ?");
+      args.add(Timestamp.valueOf(from));
+    }
+    if (to != null) {
+      sql.append(" and created_at < ?");
+      args.add(Timestamp.valueOf(to));
+    }
+    if (transactionType != null) {
+      sql.append(" and transaction_type = ?");
+      args.add(transactionType.name());
+    }
+    // statement order; served by idx_transactions_account_created_id
+    sql.append(" order by created_at, id");
+
+    jdbcTemplate.query(sql.toString(), rowHandler, args.toArray());
+  }
+}
@@ -1,12 +1,41 @@
 package dev.arsalaan.eagle_bank.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import dev.arsalaan.eagle_bank.model.Transaction;
 
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
 
   List<Transaction> findByAccountId(Long accountId);
-}
\ No newline at end of file
+
+  // transaction + account ownership in one query
+  Optional<Transaction> findByIdAndAccountIdAndAccountUserId(Long id, Long accountId, Long userId);
+
+  // the account's last transaction created before the given time (served by the account/created_at/id index)
+  Optional<Transaction> findFirstByAccountIdAndCreatedAtBeforeOrderByCreatedAtDescIdDesc(Long accountId,
+      LocalDateTime before);
+
+  // credits (TransactionType.isCredit) minus debits
+  String NET_AMOUNT = "coalesce(sum(case when t.transactionType in"
+      + " (dev.arsalaan.eagle_bank.enums.TransactionType.DEPOSIT, dev.arsalaan.eagle_bank.enums.TransactionType.TRANSFER_IN)"
+      + " then t.amount else -t.amount end), 0)";
+
+  // net effect (credits minus debits) of the account's transactions created in [from, to)
+  @Query("select " + NET_AMOUNT + " from Transaction t"
+      + " where t.account.id = :accountId and t.createdAt >= :from and t.createdAt < :to")
+  BigDecimal sumNetAmountBetween(@Param("accountId") Long accountId, @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
+  // as above, but up to and including asOf
+  @Query("select " + NET_AMOUNT + " from Transaction t"
+      + " where t.account.id = :accountId and t.createdAt >= :from and t.createdAt <= :asOf")
+  BigDecimal sumNetAmountUpTo(@Param("accountId") Long accountId, @Param("from") LocalDateTime from,
+      @Param("asOf") LocalDateTime asOf);
+}
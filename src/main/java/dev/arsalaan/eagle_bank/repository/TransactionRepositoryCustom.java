@@ -0,0 +1,19 @@
+package dev.arsalaan.eagle_bank.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.model.Transaction;
+
+public interface TransactionRepositoryCustom {
+
+  /*
+   * One page of an account's transactions, newest first, ordered by (createdAt, id).
+   * Keyset pagination: pass the createdAt/id of the last row of the previous page to
+   * continue after it (both null for the first page). from (inclusive), to (exclusive)
+   * and transactionType are optional filters; null means no filter.
+   */
+  List<Transaction> findPage(Long accountId, LocalDateTime from, LocalDateTime to, TransactionType transactionType,
+      LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
@@ -0,0 +1,62 @@
+package dev.arsalaan.eagle_bank.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/*
+ * Only the predicates that are actually requested are added to the query, so every
+ * filter is evaluated in SQL and the planner can use idx_transactions_account_created_id
+ * for both the filter on account_id and the (created_at, id) ordering.
+ */
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<Transaction> findPage(Long accountId, LocalDateTime from, LocalDateTime to,
+      TransactionType transactionType, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+
+    StringBuilder jpql = new StringBuilder("select t from Transaction t where t.account.id = :accountId");
+
+    if (from != null) {
+      jpql.append(" and t.createdAt >= :from");
+    }
+    if (to != null) {
+      jpql.append(" and t.createdAt < :to");
+    }
+    if (transactionType != null) {
+      jpql.append(" and t.transactionType = :transactionType");
+    }
+    if (afterCreatedAt != null) {
+      jpql.append(" and (t.createdAt < :afterCreatedAt or (t.createdAt = :afterCreatedAt and t.id < :afterId))");
+    }
+    jpql.append(" order by t.createdAt desc, t.id desc");
+
+    TypedQuery<Transaction> query = entityManager.createQuery(jpql.toString(), Transaction.class)
+        .setParameter("accountId", accountId)
+        .setMaxResults(limit);
+
+    if (from != null) {
+      query.setParameter("from", from);
+    }
+    if (to != null) {
+      query.setParameter("to", to);
+    }
+    if (transactionType != null) {
+      query.setParameter("transactionType", transactionType);
+    }
+    if (afterCreatedAt != null) {
+      query.setParameter("afterCreatedAt", afterCreatedAt);
+      query.setParameter("afterId", afterId);
+    }
+
+    return query.getResultList();
+  }
+}
@@ -3,7 +3,11 @@ package dev.arsalaan.eagle_bank.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import dev.arsalaan.eagle_bank.model.User;
 
@@ -12,4 +16,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
   Optional<User> findByEmail(String email);
 
+  @Transactional
+  @Modifying
+  @Query("update User u set u.password = :password where u.email = :email")
+  int updatePassword(@Param("email") String email, @Param("password") String password);
+
 }
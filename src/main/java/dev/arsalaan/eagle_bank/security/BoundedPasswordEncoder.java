@@ -0,0 +1,80 @@
+package dev.arsalaan.eagle_bank.security;
+
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Runs password hashing (login, registration) on a small dedicated thread pool.
+ * At most hashThreads hashes are computed at once, so a login storm cannot take every
+ * core away from normal API traffic; once the bounded queue is full further hash
+ * requests fail fast with 503 instead of piling up on request threads.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int hashThreads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(hashThreads, hashThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("Password hashing limited to {} threads (queue capacity {})", hashThreads, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // cheap: only inspects the stored hash
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> hashWork) {
+        try {
+            return executor.submit(hashWork).get();
+        } catch (RejectedExecutionException ex) {
+            throw new ApiRequestException(HttpStatus.SERVICE_UNAVAILABLE, "Too many logins in progress, please retry");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ApiRequestException(HttpStatus.SERVICE_UNAVAILABLE, "Login interrupted, please retry");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package dev.arsalaan.eagle_bank.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+/*
+ * In-process UserCache with a TTL and a maximum size.
+ * Used by JwtRequestFilter (via JwtUserDetailsService) so an authenticated request
+ * does not need a users SELECT every time. Every cache hit is one DB round-trip saved.
+ */
+public class CaffeineUserCache implements UserCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public CaffeineUserCache(Duration ttl, long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return cache.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+
+    public Cache<String, UserDetails> getCache() {
+        return cache;
+    }
+
+    // hit count = users lookups saved, hit rate = share of authenticated requests without a users SELECT
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,101 @@
+package dev.arsalaan.eagle_bank.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/*
+ * Drives JwtSigningKeys from a key file (app.jwt.keys-file), e.g. a mounted secret:
+ *
+ *   active=2025-06
+ *   keys.2025-06=<secret>
+ *   keys.2025-01=<secret>
+ *
+ * The file is re-read every app.jwt.keys-refresh-interval and applied when its content changes:
+ * new keys are accepted for verification, a new "active" id rotates signing to that key, and keys
+ * no longer listed (including the configured app.jwt.secret) are retired. With several instances,
+ * add the new key first and make it active only after every instance has picked it up.
+ * Rotate by adding a key under a new id; changing the secret of a known id has no effect.
+ * A file that cannot be read or has no secret for its active id is logged and skipped, keeping
+ * the current keys.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.jwt.keys-file")
+public class JwtKeyFileSource {
+
+    private static final String ACTIVE = "active";
+    private static final String KEY_PREFIX = "keys.";
+
+    private final JwtSigningKeys signingKeys;
+    private final Path keysFile;
+
+    private String appliedContent;
+
+    public JwtKeyFileSource(JwtSigningKeys signingKeys, @Value("${app.jwt.keys-file}") Path keysFile) {
+        this.signingKeys = signingKeys;
+        this.keysFile = keysFile;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.keys-refresh-interval:30s}")
+    public synchronized void refresh() {
+        try {
+            String content = Files.readString(keysFile, StandardCharsets.UTF_8);
+            if (content.equals(appliedContent)) {
+                return;
+            }
+
+            apply(content);
+            appliedContent = content;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not load JWT keys from {}, keeping the current keys", keysFile, ex);
+        }
+    }
+
+    private void apply(String content) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(content));
+
+        Map<String, String> secrets = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(KEY_PREFIX)) {
+                secrets.put(name.substring(KEY_PREFIX.length()), properties.getProperty(name).trim());
+            }
+        }
+
+        String activeKeyId = properties.getProperty(ACTIVE, "").trim();
+        if (!secrets.containsKey(activeKeyId)) {
+            throw new IllegalStateException("No secret for the active JWT key \"" + activeKeyId + "\"");
+        }
+
+        Set<String> knownKeyIds = signingKeys.getKeyIds();
+        secrets.forEach((keyId, secret) -> {
+            if (!keyId.equals(activeKeyId) && !knownKeyIds.contains(keyId)) {
+                signingKeys.accept(keyId, secret);
+            }
+        });
+
+        if (!activeKeyId.equals(signingKeys.getActiveKey().id())) {
+            signingKeys.rotate(activeKeyId, secrets.get(activeKeyId));
+        }
+
+        for (String keyId : signingKeys.getKeyIds()) {
+            if (!secrets.containsKey(keyId)) {
+                signingKeys.retire(keyId);
+            }
+        }
+    }
+}
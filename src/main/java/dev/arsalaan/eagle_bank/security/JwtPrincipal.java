@@ -0,0 +1,26 @@
+package dev.arsalaan.eagle_bank.security;
+
+import java.security.Principal;
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+ * Immutable view of a verified JWT.
+ * Built once by JwtRequestFilter and stored as the principal of the security context,
+ * so controllers and services never need to parse the raw token again.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal implements Principal {
+
+    private final String email;
+    private final Long userId;
+    private final Instant expiresAt;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,5 +1,8 @@
 package dev.arsalaan.eagle_bank.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,11 +28,23 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     private final JwtUserDetailsService jwtUserDetailsService;
     private final HandlerExceptionResolver handlerExceptionResolver;
 
+    // time spent authenticating each request, split into its two costs
+    private final Timer verifyTimer;
+    private final Timer userLoadTimer;
+
     public JwtRequestFilter(JwtTokenUtil jwtTokenUtil, JwtUserDetailsService jwtUserDetailsService,
-            HandlerExceptionResolver handlerExceptionResolver) {
+            HandlerExceptionResolver handlerExceptionResolver, MeterRegistry meterRegistry) {
         this.jwtTokenUtil = jwtTokenUtil;
         this.jwtUserDetailsService = jwtUserDetailsService;
         this.handlerExceptionResolver = handlerExceptionResolver;
+        this.verifyTimer = Timer.builder("auth.jwt")
+                .tag("phase", "verify")
+                .description("JWT signature verification (or verified-token cache lookup)")
+                .register(meterRegistry);
+        this.userLoadTimer = Timer.builder("auth.jwt")
+                .tag("phase", "user-load")
+                .description("User lookup for the token subject (user cache or users SELECT)")
+                .register(meterRegistry);
     }
 
     @Override
@@ -40,19 +55,25 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         String token = getJwtFromRequest(request);
 
         try {
-            // validate token
             if (StringUtils.hasText(token) &&
-                    jwtTokenUtil.validateToken(token) &&
                     SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                // get username from token
-                String email = jwtTokenUtil.getUsernameFromToken(token);
+                // verify token (the only signature check for this request)
+                JwtPrincipal principal = verifyTimer.record(() -> jwtTokenUtil.verifyToken(token));
 
                 // load user associated with token
-                UserDetails userDetails = jwtUserDetailsService.loadUserByUsername(email);
+                String email = principal.getEmail();
+                UserDetails userDetails = userLoadTimer.record(
+                        () -> jwtUserDetailsService.loadAuthenticatedUser(email));
+
+                // tokens issued before the user id claim was added only carry the email
+                if (principal.getUserId() == null && userDetails instanceof JwtUserDetails jwtUserDetails) {
+                    principal = new JwtPrincipal(principal.getEmail(), jwtUserDetails.getId(),
+                            principal.getExpiresAt());
+                }
 
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, userDetails.getAuthorities());
 
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
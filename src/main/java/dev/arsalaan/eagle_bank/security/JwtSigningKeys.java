@@ -0,0 +1,152 @@
+package dev.arsalaan.eagle_bank.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.crypto.SecretKey;
+
+/*
+ * Holds the HMAC keys used to sign and verify JWTs.
+ * Keys and the JwtParser are built once at startup; the parser is immutable and
+ * thread-safe and picks the verification key from the token's "kid" header.
+ * New tokens are always signed with the active key, while older keys stay valid
+ * for verification until they are retired, so secrets can be rotated at runtime.
+ */
+@Slf4j
+@Component
+public class JwtSigningKeys {
+
+    @Value("${app.jwt.secret}")
+    private String secret;
+    @Value("${app.jwt.key-id:default}")
+    private String keyId;
+    // verification-only keys, as "kid:secret" pairs
+    @Value("${app.jwt.previous-secrets:}")
+    private List<String> previousSecrets;
+
+    private volatile Map<String, SecretKey> keys = Map.of();
+    private volatile ActiveKey activeKey;
+    private JwtParser parser;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtSigningKeys(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    @PostConstruct
+    void init() {
+        Map<String, SecretKey> initialKeys = new HashMap<>();
+
+        for (String entry : previousSecrets) {
+            int separator = entry.indexOf(':');
+            if (!StringUtils.hasText(entry) || separator <= 0) {
+                continue;
+            }
+            initialKeys.put(entry.substring(0, separator).trim(), toKey(entry.substring(separator + 1).trim()));
+        }
+
+        SecretKey key = toKey(secret);
+        initialKeys.put(keyId, key);
+
+        keys = Map.copyOf(initialKeys);
+        activeKey = new ActiveKey(keyId, key);
+
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolve(header.getKeyId());
+                    }
+                })
+                .build();
+
+        log.info("JWT signing keys initialised (active kid: {}, {} key(s) accepted)", keyId, keys.size());
+    }
+
+    public JwtParser getParser() {
+        return parser;
+    }
+
+    // key id and key are read together so a concurrent rotation can't mix them up
+    public ActiveKey getActiveKey() {
+        return activeKey;
+    }
+
+    public Set<String> getKeyIds() {
+        return keys.keySet();
+    }
+
+    // accept tokens signed with a new key without signing with it yet (e.g. before the other instances know it)
+    public synchronized void accept(String newKeyId, String newSecret) {
+        Map<String, SecretKey> updatedKeys = new HashMap<>(keys);
+        updatedKeys.put(newKeyId, toKey(newSecret));
+        keys = Map.copyOf(updatedKeys);
+
+        log.info("JWT verification key {} added", newKeyId);
+    }
+
+    // add a new key and sign all new tokens with it; existing keys remain valid for verification
+    public synchronized void rotate(String newKeyId, String newSecret) {
+        SecretKey key = toKey(newSecret);
+
+        Map<String, SecretKey> updatedKeys = new HashMap<>(keys);
+        updatedKeys.put(newKeyId, key);
+
+        keys = Map.copyOf(updatedKeys);
+        activeKey = new ActiveKey(newKeyId, key);
+
+        log.info("JWT signing key rotated to kid {}", newKeyId);
+    }
+
+    // stop accepting tokens signed with the given key
+    public synchronized void retire(String retiredKeyId) {
+        if (retiredKeyId.equals(activeKey.id())) {
+            throw new IllegalStateException("Cannot retire the active signing key");
+        }
+
+        Map<String, SecretKey> updatedKeys = new HashMap<>(keys);
+        updatedKeys.remove(retiredKeyId);
+        keys = Map.copyOf(updatedKeys);
+
+        // tokens verified with the retired key must not be served from the cache
+        verifiedTokenCache.invalidateAll();
+
+        log.info("JWT signing key {} retired", retiredKeyId);
+    }
+
+    private SecretKey resolve(String tokenKeyId) {
+        // tokens issued before key ids were introduced were signed with the configured secret
+        SecretKey key = keys.get(tokenKeyId != null ? tokenKeyId : keyId);
+
+        if (key == null) {
+            throw new SignatureException("Unknown JWT signing key: " + tokenKeyId);
+        }
+        return key;
+    }
+
+    private static SecretKey toKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public record ActiveKey(String id, SecretKey key) {
+    }
+}
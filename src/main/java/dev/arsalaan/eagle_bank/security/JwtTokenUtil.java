@@ -1,75 +1,75 @@
 package dev.arsalaan.eagle_bank.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.SecurityException;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
-import javax.crypto.SecretKey;
-
 @Slf4j
 @Component
 public class JwtTokenUtil {
 
-    @Value("${app.jwt.secret}")
-    private String SECRET_KEY;
+    private static final String USER_ID_CLAIM = "uid";
+
     @Value("${app.jwt.expiration-in-ms:3600000}") // default 1 hour
     private long EXPIRATION_TIME;
 
+    private final JwtSigningKeys signingKeys;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtTokenUtil(JwtSigningKeys signingKeys, VerifiedTokenCache verifiedTokenCache) {
+        this.signingKeys = signingKeys;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
     // generate token
     public String generateToken(Authentication authentication) {
 
-        String username = authentication.getName();
+        Long userId = null;
+        if (authentication.getPrincipal() instanceof JwtUserDetails userDetails) {
+            userId = userDetails.getId();
+        }
+
+        return generateToken(authentication.getName(), userId);
+    }
+
+    public String generateToken(String username, Long userId) {
+
         Date currentDate = new Date();
         Date expireDate = new Date(currentDate.getTime() + EXPIRATION_TIME);
+        JwtSigningKeys.ActiveKey signingKey = signingKeys.getActiveKey();
 
         String token = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.id())
                 .setSubject(username)
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuer("DevArsalaan")
                 .setIssuedAt(currentDate)
                 .setExpiration(expireDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey.key(), SignatureAlgorithm.HS512)
                 .compact();
         return token;
     }
 
-    // validate JWT token
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
-        } catch (ExpiredJwtException | IllegalArgumentException | MalformedJwtException | UnsupportedJwtException
-                | SecurityException ex) {
-            throw ex;
-        }
+    // verify JWT token once and return its claims as a principal
+    // (throws ExpiredJwtException, MalformedJwtException, SignatureException, ...)
+    public JwtPrincipal verifyToken(String token) {
+        return verifiedTokenCache.get(token, this::parseToken);
     }
 
-    // get username/email from the token
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+    private JwtPrincipal parseToken(String token) {
+        Claims claims = signingKeys.getParser()
                 .parseClaimsJws(token)
                 .getBody();
-        return claims.getSubject();
-    }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
-    }
-
-    public String getJwtTokenFromHeader(String authHeader) {
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
-        }
-        return null;
+        return new JwtPrincipal(
+                claims.getSubject(),
+                claims.get(USER_ID_CLAIM, Long.class),
+                claims.getExpiration().toInstant());
     }
 
-}
\ No newline at end of file
+}
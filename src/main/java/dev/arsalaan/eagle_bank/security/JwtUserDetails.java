@@ -0,0 +1,23 @@
+package dev.arsalaan.eagle_bank.security;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import lombok.Getter;
+
+/*
+ * Spring Security user that also carries the database id,
+ * so the id can be written into the JWT at login time.
+ */
+@Getter
+public class JwtUserDetails extends User {
+
+    private final Long id;
+
+    public JwtUserDetails(Long id, String email, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, authorities);
+        this.id = id;
+    }
+}
@@ -1,6 +1,8 @@
 package dev.arsalaan.eagle_bank.security;
 
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,12 +13,27 @@ import dev.arsalaan.eagle_bank.repository.UserRepository;
 import java.util.ArrayList;
 
 @Service
-public class JwtUserDetailsService implements UserDetailsService {
+public class JwtUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
-    public JwtUserDetailsService(UserRepository userRepository) {
+    public JwtUserDetailsService(UserRepository userRepository, UserCache userCache) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
+    }
+
+    // used on every authenticated request; login keeps using the uncached lookup below
+    public UserDetails loadAuthenticatedUser(String email) throws UsernameNotFoundException {
+
+        UserDetails userDetails = userCache.getUserFromCache(email);
+
+        if (userDetails == null) {
+            userDetails = loadUserByUsername(email);
+            userCache.putUserInCache(userDetails);
+        }
+
+        return userDetails;
     }
 
     @Override // loadUserByEmail* in this case
@@ -25,11 +42,31 @@ public class JwtUserDetailsService implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new JwtUserDetails(
+                user.getId(),
                 user.getEmail(),
                 user.getPassword(),
                 new ArrayList<>() // no roles/authorities in this prototype
         );
     }
 
+    /*
+     * Called by the authentication provider after a successful login when the stored hash
+     * is outdated (no {bcrypt} prefix or a lower cost than configured); newPassword is the
+     * freshly encoded hash.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userCache.removeUserFromCache(user.getUsername());
+
+        return new JwtUserDetails(
+                ((JwtUserDetails) user).getId(),
+                user.getUsername(),
+                newPassword,
+                user.getAuthorities()
+        );
+    }
+
 }
@@ -0,0 +1,93 @@
+package dev.arsalaan.eagle_bank.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/*
+ * Opt-in cache of verified tokens (app.jwt.cache.enabled).
+ * Maps the SHA-256 digest of a token to its JwtPrincipal, so a client reusing the same
+ * bearer token skips the HMAC verification and claims parsing on every request.
+ * Entries expire at the token's own "exp" and the size is bounded (W-TinyLFU eviction).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final boolean enabled;
+    private final Cache<String, JwtPrincipal> cache;
+
+    public VerifiedTokenCache(@Value("${app.jwt.cache.enabled:false}") boolean enabled,
+            @Value("${app.jwt.cache.max-size:10000}") long maxSize) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public JwtPrincipal get(String token, Function<String, JwtPrincipal> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    // e.g. after a signing key is retired
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Cache<String, JwtPrincipal> getCache() {
+        return cache;
+    }
+
+    // hit count = signature verifications skipped
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static class TokenExpiry implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+            long nanos = Duration.between(Instant.now(), principal.getExpiresAt()).toNanos();
+            return Math.max(nanos, 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dev.arsalaan.eagle_bank.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+
+/*
+ * Ownership checks for account-scoped endpoints.
+ * The happy path is a single query by account id and user id; only a failed check
+ * pays for a second query to tell "account not found" (404) from "not yours" (403).
+ */
+@Service
+public class AccountAccessService {
+
+  private final AccountRepository accountRepository;
+
+  public AccountAccessService(AccountRepository accountRepository) {
+    this.accountRepository = accountRepository;
+  }
+
+  public Account getOwnedAccount(Long accountId, Long userId, String forbiddenMessage) {
+    return accountRepository.findByIdAndUserId(accountId, userId)
+        .orElseThrow(() -> accessDenied(accountId, forbiddenMessage));
+  }
+
+  // ownership check that also returns the account version (for the transaction list ETag)
+  public long getOwnedVersion(Long accountId, Long userId, String forbiddenMessage) {
+    return accountRepository.findVersion(accountId, userId)
+        .orElseThrow(() -> accessDenied(accountId, forbiddenMessage));
+  }
+
+  public void checkOwnership(Long accountId, Long userId, String forbiddenMessage) {
+    if (!accountRepository.existsByIdAndUserId(accountId, userId)) {
+      throw accessDenied(accountId, forbiddenMessage);
+    }
+  }
+
+  public ApiRequestException accessDenied(Long accountId, String forbiddenMessage) {
+    if (!accountRepository.existsById(accountId)) {
+      return new ApiRequestException(HttpStatus.NOT_FOUND, "Account not found");
+    }
+    return new ApiRequestException(HttpStatus.FORBIDDEN, forbiddenMessage);
+  }
+}
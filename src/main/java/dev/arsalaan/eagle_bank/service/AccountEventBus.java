@@ -0,0 +1,306 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.arsalaan.eagle_bank.dto.TransactionResponse;
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import dev.arsalaan.eagle_bank.mapper.TransactionMapper;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * In-process fan-out of committed postings to GET /v1/accounts/{id}/events subscribers.
+ * Ownership is checked once, when the stream is opened. An open stream is an async request,
+ * so it holds a connection but no request thread and no DB connection.
+ * Each committed posting is serialized once and offered to a small bounded buffer per
+ * subscriber; a shared pool of sender threads drains the buffers, so publishing never waits
+ * on a client. A subscriber whose buffer is full is too slow to keep up and is disconnected
+ * (EventSource clients reconnect and can catch up from the transaction list).
+ * A write blocks its sender thread while the client's socket is full. A write still blocked
+ * after the send timeout drops its subscriber, and the pool gets an extra thread until the
+ * write returns (Tomcat fails it after its connection timeout). Stalled clients therefore
+ * never starve the streams of other subscribers.
+ * Heartbeat comments keep idle streams open through proxies and detect dead clients.
+ * Events are only delivered to subscribers connected to the instance that made the posting.
+ */
+@Slf4j
+@Service
+public class AccountEventBus {
+
+  private static final String TRANSACTION_EVENT = "transaction";
+  private static final long IDLE = Long.MIN_VALUE;
+  private static final long STALLED = Long.MIN_VALUE + 1;
+
+  private final Map<Long, Set<Subscriber>> subscribersByAccount = new ConcurrentHashMap<>();
+  private final AtomicInteger subscriberCount = new AtomicInteger();
+
+  private final AccountAccessService accountAccessService;
+  private final TransactionMapper transactionMapper;
+  private final ObjectMapper objectMapper;
+  private final ThreadPoolExecutor sender;
+  private final int bufferSize;
+  private final int maxSubscribers;
+  private final long timeoutMillis;
+  private final long sendTimeoutNanos;
+  private final Counter droppedSubscribers;
+
+  public AccountEventBus(AccountAccessService accountAccessService, TransactionMapper transactionMapper,
+      ObjectMapper objectMapper, MeterRegistry meterRegistry,
+      @Value("${app.events.buffer-size:32}") int bufferSize,
+      @Value("${app.events.max-subscribers:50000}") int maxSubscribers,
+      @Value("${app.events.timeout:30m}") Duration timeout,
+      @Value("${app.events.sender-threads:4}") int senderThreads,
+      @Value("${app.events.send-timeout:5s}") Duration sendTimeout) {
+    this.accountAccessService = accountAccessService;
+    this.transactionMapper = transactionMapper;
+    this.objectMapper = objectMapper;
+    this.bufferSize = bufferSize;
+    this.maxSubscribers = maxSubscribers;
+    this.timeoutMillis = timeout.toMillis();
+    this.sendTimeoutNanos = sendTimeout.toNanos();
+
+    // fixed size, except for one extra thread per stalled write (see releaseStalledWrite)
+    AtomicInteger threadIndex = new AtomicInteger();
+    this.sender = new ThreadPoolExecutor(senderThreads, Integer.MAX_VALUE, 30, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), runnable -> {
+          Thread thread = new Thread(runnable, "account-events-" + threadIndex.getAndIncrement());
+          thread.setDaemon(true);
+          return thread;
+        });
+
+    Gauge.builder("events.subscribers", subscriberCount, AtomicInteger::get)
+        .description("Open account event streams")
+        .register(meterRegistry);
+    this.droppedSubscribers = Counter.builder("events.subscribers.dropped")
+        .description("Event streams closed because the client could not keep up")
+        .register(meterRegistry);
+  }
+
+  @PreDestroy
+  void stop() {
+    sender.shutdownNow();
+    subscribersByAccount.values().forEach(subscribers -> subscribers.forEach(Subscriber::complete));
+  }
+
+  public SseEmitter subscribe(Long accountId, JwtPrincipal principal) {
+    accountAccessService.checkOwnership(accountId, principal.getUserId(),
+        "You are not authorized to access this account");
+
+    if (subscriberCount.incrementAndGet() > maxSubscribers) {
+      subscriberCount.decrementAndGet();
+      throw new ApiRequestException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open event streams, please retry");
+    }
+
+    SseEmitter emitter = newEmitter(timeoutMillis);
+    Subscriber subscriber = new Subscriber(accountId, emitter);
+    // added inside compute so it cannot race with the last subscriber of the account leaving
+    subscribersByAccount.compute(accountId, (id, subscribers) -> {
+      Set<Subscriber> accountSubscribers = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+      accountSubscribers.add(subscriber);
+      return accountSubscribers;
+    });
+
+    emitter.onCompletion(subscriber::remove);
+    emitter.onTimeout(subscriber::remove);
+    emitter.onError(ex -> subscriber.remove());
+
+    return emitter;
+  }
+
+  // runs on the committing thread, so it only serializes the event and fills the buffers
+  @TransactionalEventListener
+  public void onTransactionPosted(TransactionPostedEvent event) {
+    Set<Subscriber> subscribers = subscribersByAccount.get(event.accountId());
+    if (subscribers == null || subscribers.isEmpty()) {
+      return;
+    }
+
+    TransactionResponse transaction = transactionMapper.toTransactionResponse(event.transaction());
+    String data;
+    try {
+      data = objectMapper.writeValueAsString(transaction);
+    } catch (JsonProcessingException ex) {
+      log.warn("Could not serialize transaction {} for event subscribers", transaction.getId(), ex);
+      return;
+    }
+
+    Event message = new Event(TRANSACTION_EVENT, String.valueOf(transaction.getId()), data);
+    for (Subscriber subscriber : subscribers) {
+      subscriber.offer(message);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.events.heartbeat-interval:15s}")
+  public void sendHeartbeats() {
+    for (Set<Subscriber> subscribers : subscribersByAccount.values()) {
+      for (Subscriber subscriber : subscribers) {
+        subscriber.offer(Event.HEARTBEAT);
+      }
+    }
+  }
+
+  // drops subscribers whose write has been blocked for longer than the send timeout
+  @Scheduled(fixedDelayString = "${app.events.send-timeout-check-interval:1s}")
+  public void dropStalledSubscribers() {
+    long now = System.nanoTime();
+    for (Set<Subscriber> subscribers : subscribersByAccount.values()) {
+      for (Subscriber subscriber : subscribers) {
+        subscriber.dropIfStalled(now);
+      }
+    }
+  }
+
+  public int getSubscriberCount() {
+    return subscriberCount.get();
+  }
+
+  SseEmitter newEmitter(long timeoutMillis) {
+    return new SseEmitter(timeoutMillis);
+  }
+
+  // the stalled write's thread is lost to the pool until the write returns, so add one meanwhile
+  private synchronized void replaceStalledSender() {
+    sender.setCorePoolSize(sender.getCorePoolSize() + 1);
+  }
+
+  private synchronized void releaseStalledWrite() {
+    sender.setCorePoolSize(sender.getCorePoolSize() - 1);
+  }
+
+  private record Event(String name, String id, String data) {
+
+    static final Event HEARTBEAT = new Event(null, null, null);
+
+    SseEmitter.SseEventBuilder toSse() {
+      if (this == HEARTBEAT) {
+        return SseEmitter.event().comment("heartbeat");
+      }
+      return SseEmitter.event().name(name).id(id).data(data);
+    }
+  }
+
+  private final class Subscriber {
+
+    private final Long accountId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Event> buffer = new ArrayBlockingQueue<>(bufferSize);
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean removed = new AtomicBoolean();
+    // System.nanoTime() when the current write started; IDLE or STALLED otherwise
+    private final AtomicLong writeStartedAt = new AtomicLong(IDLE);
+
+    Subscriber(Long accountId, SseEmitter emitter) {
+      this.accountId = accountId;
+      this.emitter = emitter;
+    }
+
+    void offer(Event event) {
+      if (removed.get()) {
+        return;
+      }
+      if (!buffer.offer(event)) {
+        droppedSubscribers.increment();
+        log.debug("Closing event stream for account {}: client is not keeping up", accountId);
+        complete();
+        return;
+      }
+      scheduleDrain();
+    }
+
+    // at most one sender thread per subscriber, so events are written in order
+    private void scheduleDrain() {
+      if (draining.compareAndSet(false, true)) {
+        sender.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      try {
+        Event event;
+        while (!removed.get() && (event = buffer.poll()) != null) {
+          send(event);
+        }
+      } catch (IOException | IllegalStateException ex) {
+        // client went away; the container reports it and onError/onCompletion remove us
+        complete();
+      } finally {
+        draining.set(false);
+      }
+
+      // an event offered after the last poll but before the flag was cleared
+      if (!removed.get() && !buffer.isEmpty()) {
+        scheduleDrain();
+      }
+    }
+
+    private void send(Event event) throws IOException {
+      writeStartedAt.set(System.nanoTime());
+      try {
+        emitter.send(event.toSse());
+      } finally {
+        if (writeStartedAt.getAndSet(IDLE) == STALLED) {
+          releaseStalledWrite();
+          complete();
+        }
+      }
+    }
+
+    void dropIfStalled(long now) {
+      long startedAt = writeStartedAt.get();
+      if (startedAt == IDLE || startedAt == STALLED || now - startedAt < sendTimeoutNanos) {
+        return;
+      }
+      // the writing thread holds the emitter's lock, so the stream is closed when the write returns
+      if (writeStartedAt.compareAndSet(startedAt, STALLED)) {
+        replaceStalledSender();
+        droppedSubscribers.increment();
+        log.debug("Dropping event stream for account {}: a write has been blocked for over the send timeout",
+            accountId);
+        remove();
+      }
+    }
+
+    void complete() {
+      remove();
+      emitter.complete();
+    }
+
+    void remove() {
+      if (!removed.compareAndSet(false, true)) {
+        return;
+      }
+      buffer.clear();
+      subscriberCount.decrementAndGet();
+      subscribersByAccount.computeIfPresent(accountId, (id, subscribers) -> {
+        subscribers.remove(this);
+        return subscribers.isEmpty() ? null : subscribers;
+      });
+    }
+  }
+}
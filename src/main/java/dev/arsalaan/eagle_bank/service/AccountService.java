@@ -5,65 +5,124 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
-import org.springframework.http.HttpStatus;
+import io.micrometer.core.annotation.Timed;
+
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import dev.arsalaan.eagle_bank.datasource.ReadReplicaRoutingDataSource;
+import dev.arsalaan.eagle_bank.dto.AccountListVersion;
 import dev.arsalaan.eagle_bank.dto.AccountRequest;
 import dev.arsalaan.eagle_bank.dto.AccountResponse;
-import dev.arsalaan.eagle_bank.exception.ApiRequestException;
 import dev.arsalaan.eagle_bank.mapper.AccountMapper;
 import dev.arsalaan.eagle_bank.model.Account;
 import dev.arsalaan.eagle_bank.model.User;
 import dev.arsalaan.eagle_bank.repository.AccountRepository;
 import dev.arsalaan.eagle_bank.repository.UserRepository;
-import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
-
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+
+/*
+ * Account views are served from AccountViewCache; only cache misses open a read-only
+ * transaction, so a hit never takes a DB connection. Misses that fill the cache read from
+ * the primary: a view read from a lagging replica would otherwise be served for the whole
+ * TTL. Version (ETag) lookups are not cached and may use the replica.
+ */
+@Timed("app.service")
 @Service
 public class AccountService {
 
   private final AccountRepository accountRepository;
   private final UserRepository userRepository;
-  private final JwtTokenUtil jwtTokenUtil;
   private final AccountMapper accountMapper;
+  private final AccountAccessService accountAccessService;
+  private final AccountViewCache accountViewCache;
+  private final TransactionTemplate readOnlyTransaction;
 
   public AccountService(AccountRepository accountRepository, UserRepository userRepository,
-      JwtTokenUtil jwtTokenUtil, AccountMapper accountMapper) {
+      AccountMapper accountMapper, AccountAccessService accountAccessService, AccountViewCache accountViewCache,
+      PlatformTransactionManager transactionManager) {
     this.accountRepository = accountRepository;
     this.userRepository = userRepository;
-    this.jwtTokenUtil = jwtTokenUtil;
     this.accountMapper = accountMapper;
+    this.accountAccessService = accountAccessService;
+    this.accountViewCache = accountViewCache;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
   }
 
-  public List<AccountResponse> getAllAccounts(String token) {
-    String email = jwtTokenUtil.getUsernameFromToken(token);
+  public List<AccountResponse> getAllAccounts(JwtPrincipal principal) {
+    List<AccountResponse> cached = accountViewCache.getAccounts(principal.getUserId());
+    if (cached != null) {
+      return cached;
+    }
 
-    User user = userRepository.findByEmail(email)
-        .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "User not found"));
+    List<AccountResponse> responses = readForCache(status ->
+        accountMapper.toAccountResponseList(accountRepository.findByUserId(principal.getUserId())));
+    accountViewCache.putAccounts(principal.getUserId(), responses);
+    return responses;
+  }
 
-    List<Account> accounts = accountRepository.findByUserId(user.getId());
+  // ETag of a GET /v1/accounts/{accountId} response
+  public static String accountETag(AccountResponse account) {
+    return versionETag(account.getVersion());
+  }
 
-    return accountMapper.toAccountResponseList(accounts);
+  // ETag of a GET /v1/accounts response
+  public static String accountListETag(List<AccountResponse> accounts) {
+    return AccountListVersion.of(accounts).toETag();
   }
 
-  public AccountResponse getAccountById(Long accountId, String token) {
+  /*
+   * ETags for If-None-Match requests, derived from account versions only (from the cache
+   * or a single version query), so a 304 never loads or maps an account. They equal the
+   * ETags of the corresponding full responses.
+   */
+  public String getAccountListETag(JwtPrincipal principal) {
+    List<AccountResponse> cached = accountViewCache.getAccounts(principal.getUserId());
+    if (cached != null) {
+      return accountListETag(cached);
+    }
+    return readOnlyTransaction.execute(status -> accountRepository.findListVersion(principal.getUserId())).toETag();
+  }
 
-    Account account = accountRepository.findById(accountId)
-        .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "Account not found"));
+  // null when the account does not exist or is not the caller's (the regular path then returns 403/404)
+  public String getAccountETag(Long accountId, JwtPrincipal principal) {
+    Long version = getAccountVersion(accountId, principal);
 
-    String email = jwtTokenUtil.getUsernameFromToken(token);
+    return version != null ? versionETag(version) : null;
+  }
 
-    if (!account.getUser().getEmail().equals(email)) {
-      throw new ApiRequestException(HttpStatus.FORBIDDEN, "You are not authorized to access this account");
-    }
+  public Long getAccountVersion(Long accountId, JwtPrincipal principal) {
+    Long version = accountViewCache.getVersion(accountId, principal.getUserId());
 
-    return accountMapper.toAccountResponse(account);
+    if (version != null) {
+      return version;
+    }
+    return readOnlyTransaction.execute(status ->
+        accountRepository.findVersion(accountId, principal.getUserId()).orElse(null));
   }
 
-  public AccountResponse createAccount(AccountRequest accountRequest, String token) {
-    String email = jwtTokenUtil.getUsernameFromToken(token);
+  public AccountResponse getAccountById(Long accountId, JwtPrincipal principal) {
+    AccountResponse cached = accountViewCache.getAccount(accountId, principal.getUserId());
+    if (cached != null) {
+      return cached;
+    }
 
-    User user = userRepository.findByEmail(email)
-        .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "User not found"));
+    // misses (including accounts of other users) go through the regular 403/404 checks
+    AccountResponse response = readForCache(status -> accountMapper.toAccountResponse(
+        accountAccessService.getOwnedAccount(accountId, principal.getUserId(),
+            "You are not authorized to access this account")));
+    accountViewCache.putAccount(principal.getUserId(), response);
+    return response;
+  }
+
+  @Transactional
+  public AccountResponse createAccount(AccountRequest accountRequest, JwtPrincipal principal) {
+    // the filter has already confirmed the user exists, so a reference is enough for the FK
+    User user = userRepository.getReferenceById(principal.getUserId());
 
     Account account = accountMapper.toAccount(accountRequest);
 
@@ -73,45 +132,48 @@ public class AccountService {
     account.setCreatedAt(LocalDateTime.now());
 
     Account savedAccount = accountRepository.save(account);
+    accountViewCache.evictAccountList(principal.getUserId());
 
     return accountMapper.toAccountResponse(savedAccount);
   }
 
-  public AccountResponse updateAccountById(Long accountId, AccountRequest accountRequest, String token) {
-
-    Account account = accountRepository.findById(accountId)
-        .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "Account not found"));
+  @Transactional
+  public AccountResponse updateAccountById(Long accountId, AccountRequest accountRequest, JwtPrincipal principal) {
 
-    String email = jwtTokenUtil.getUsernameFromToken(token);
-
-    if (!account.getUser().getEmail().equals(email)) {
-      throw new ApiRequestException(HttpStatus.FORBIDDEN, "You are not authorized to update this account");
-    }
+    // Only update fields that are provided in the request (PATCH semantics), and bump the version
+    int updated = accountRepository.updateDetails(accountId, principal.getUserId(),
+        accountRequest.getAccountName(), accountRequest.getAccountType());
 
-    // Only update fields that are provided in the request (PATCH semantics)
-    if (accountRequest.getAccountName() != null) {
-      account.setAccountName(accountRequest.getAccountName());
-    }
-    if (accountRequest.getAccountType() != null) {
-      account.setAccountType(accountRequest.getAccountType());
+    if (updated == 0) {
+      throw accountAccessService.accessDenied(accountId, "You are not authorized to update this account");
     }
+    accountViewCache.evictAccount(accountId);
 
-    Account updatedAccount = accountRepository.save(account);
+    Account updatedAccount = accountRepository.findById(accountId).orElseThrow();
 
     return accountMapper.toAccountResponse(updatedAccount);
   }
 
-  public void deleteAccountById(Long accountId, String token) {
-    Account account = accountRepository.findById(accountId)
-        .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "Account not found"));
+  @Transactional
+  public void deleteAccountById(Long accountId, JwtPrincipal principal) {
+    Account account = accountAccessService.getOwnedAccount(accountId, principal.getUserId(),
+        "You are not authorized to delete this account");
 
-    String email = jwtTokenUtil.getUsernameFromToken(token);
+    accountRepository.delete(account);
+    accountViewCache.evictAccount(accountId);
+    accountViewCache.evictAccountList(principal.getUserId());
+  }
 
-    if (!account.getUser().getEmail().equals(email)) {
-      throw new ApiRequestException(HttpStatus.FORBIDDEN, "You are not authorized to delete this account");
+  // a read-only transaction whose result is cached: on the primary, unless the cache is off
+  private <T> T readForCache(TransactionCallback<T> action) {
+    if (!accountViewCache.isEnabled()) {
+      return readOnlyTransaction.execute(action);
     }
+    return ReadReplicaRoutingDataSource.onPrimary(() -> readOnlyTransaction.execute(action));
+  }
 
-    accountRepository.delete(account);
+  private static String versionETag(long version) {
+    return "\"" + version + "\"";
   }
 
   private String generateAccountNumber() {
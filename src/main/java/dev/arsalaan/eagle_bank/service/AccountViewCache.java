@@ -0,0 +1,118 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import dev.arsalaan.eagle_bank.dto.AccountResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/*
+ * Read cache for the account views served by GET /v1/accounts and GET /v1/accounts/{id}.
+ * Two caches:
+ * - accounts: account id -> owner id + AccountResponse (the owner id lets the ownership check run on a hit;
+ *   the response carries the account version, i.e. its ETag)
+ * - accountIdsByUser: user id -> ids of the user's accounts; a list is assembled from the account entries
+ * A balance change or an update therefore only evicts its own account entry, and only
+ * create/delete evict a user's id list.
+ * Evictions are applied after the surrounding DB transaction commits (and skipped on rollback).
+ * A read that raced with a write can still re-cache the old view; the TTL bounds how long
+ * such an entry (or an entry on another instance) can be stale. That bound holds because
+ * views are only cached from primary reads (AccountService), never from a lagging replica.
+ */
+@Service
+public class AccountViewCache {
+
+  public static final String ACCOUNTS = "accounts";
+  public static final String ACCOUNT_IDS_BY_USER = "accountIdsByUser";
+
+  private final Cache accounts;
+  private final Cache accountIdsByUser;
+  private final boolean enabled;
+
+  public AccountViewCache(CacheManager cacheManager, MeterRegistry meterRegistry,
+      @Value("${app.accounts.cache.enabled:true}") boolean enabled,
+      @Value("${app.accounts.cache.ttl:30s}") Duration ttl) {
+    this.enabled = enabled;
+    this.accounts = new TransactionAwareCacheDecorator(cacheManager.getCache(ACCOUNTS));
+    this.accountIdsByUser = new TransactionAwareCacheDecorator(cacheManager.getCache(ACCOUNT_IDS_BY_USER));
+
+    // hit rates come from cache.gets (registered by Actuator for the CacheManager's caches)
+    for (String cacheName : List.of(ACCOUNTS, ACCOUNT_IDS_BY_USER)) {
+      TimeGauge.builder("cache.max.staleness", ttl, TimeUnit.MILLISECONDS, Duration::toMillis)
+          .tag("cache", cacheName)
+          .description("Upper bound on how long a cached view can lag behind the database")
+          .register(meterRegistry);
+    }
+  }
+
+  // false with app.accounts.cache.enabled=false (nothing is cached)
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  // the cached view, if present and owned by the user; null otherwise
+  public AccountResponse getAccount(Long accountId, Long userId) {
+    CachedAccount cached = accounts.get(accountId, CachedAccount.class);
+
+    return cached != null && cached.userId().equals(userId) ? cached.response() : null;
+  }
+
+  // version (ETag) of the cached view; null if not cached
+  public Long getVersion(Long accountId, Long userId) {
+    AccountResponse response = getAccount(accountId, userId);
+
+    return response != null ? response.getVersion() : null;
+  }
+
+  // null unless the id list and every account in it are cached
+  @SuppressWarnings("unchecked")
+  public List<AccountResponse> getAccounts(Long userId) {
+    List<Long> accountIds = accountIdsByUser.get(userId, List.class);
+    if (accountIds == null) {
+      return null;
+    }
+
+    List<AccountResponse> responses = new ArrayList<>(accountIds.size());
+    for (Long accountId : accountIds) {
+      AccountResponse response = getAccount(accountId, userId);
+      if (response == null) {
+        return null;
+      }
+      responses.add(response);
+    }
+    return responses;
+  }
+
+  public void putAccount(Long userId, AccountResponse response) {
+    accounts.put(response.getId(), new CachedAccount(userId, response));
+  }
+
+  public void putAccounts(Long userId, List<AccountResponse> responses) {
+    for (AccountResponse response : responses) {
+      putAccount(userId, response);
+    }
+    accountIdsByUser.put(userId, responses.stream().map(AccountResponse::getId).toList());
+  }
+
+  // after a balance change, update or delete
+  public void evictAccount(Long accountId) {
+    accounts.evict(accountId);
+  }
+
+  // after an account was created or deleted
+  public void evictAccountList(Long userId) {
+    accountIdsByUser.evict(userId);
+  }
+
+  private record CachedAccount(Long userId, AccountResponse response) {
+  }
+}
@@ -0,0 +1,158 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.arsalaan.eagle_bank.dto.BalanceResponse;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.BalanceSnapshot;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.BalanceSnapshotRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Historical balances.
+ * A balance as of time X is the latest snapshot at or before X plus the net of the
+ * transactions created from that snapshot up to X: one indexed snapshot lookup and a
+ * delta scan bounded by the snapshot interval. It is the same sum as a full
+ * recomputation over the ledger, just split at the checkpoint.
+ * Snapshots are written daily for midnight. Each one is taken under the account's row lock,
+ * so it is checkpointed against committed data: postings in flight on the account commit
+ * first, and since postings take their createdAt under that same lock, any posting that
+ * comes after the snapshot is created after the checkpoint. The job runs a few minutes past
+ * midnight only to absorb clock differences between instances.
+ */
+@Slf4j
+@Service
+public class BalanceService {
+
+  // lower bound for accounts without a snapshot yet
+  private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  private final AccountRepository accountRepository;
+  private final TransactionRepository transactionRepository;
+  private final BalanceSnapshotRepository balanceSnapshotRepository;
+  private final AccountAccessService accountAccessService;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public BalanceService(AccountRepository accountRepository, TransactionRepository transactionRepository,
+      BalanceSnapshotRepository balanceSnapshotRepository, AccountAccessService accountAccessService,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.balance.snapshot.batch-size:500}") int batchSize) {
+    this.accountRepository = accountRepository;
+    this.transactionRepository = transactionRepository;
+    this.balanceSnapshotRepository = balanceSnapshotRepository;
+    this.accountAccessService = accountAccessService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  @Transactional(readOnly = true)
+  public BalanceResponse getBalance(Long accountId, LocalDateTime asOf, JwtPrincipal principal) {
+
+    if (asOf == null) {
+      Account account = accountAccessService.getOwnedAccount(accountId, principal.getUserId(),
+          "You are not authorized to access this account");
+      return new BalanceResponse(accountId, account.getBalance(), LocalDateTime.now());
+    }
+
+    accountAccessService.checkOwnership(accountId, principal.getUserId(),
+        "You are not authorized to access this account");
+
+    return new BalanceResponse(accountId, getBalanceAsOf(accountId, asOf), asOf);
+  }
+
+  // net of all transactions created up to and including asOf
+  public BigDecimal getBalanceAsOf(Long accountId, LocalDateTime asOf) {
+    Optional<BalanceSnapshot> snapshot = balanceSnapshotRepository
+        .findFirstByAccountIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(accountId, asOf);
+
+    LocalDateTime from = snapshot.map(BalanceSnapshot::getSnapshotAt).orElse(BEGINNING);
+    BigDecimal base = snapshot.map(BalanceSnapshot::getBalance).orElse(BigDecimal.ZERO);
+
+    return base.add(transactionRepository.sumNetAmountUpTo(accountId, from, asOf));
+  }
+
+  @Scheduled(cron = "${app.balance.snapshot.cron:0 5 0 * * *}")
+  public void createDailySnapshots() {
+    createSnapshots(LocalDate.now().atStartOfDay());
+  }
+
+  /*
+   * Writes a snapshot at the given checkpoint for every account whose balance changed since
+   * its previous snapshot. Re-running for the same checkpoint is a no-op, and checkpoints
+   * missed while the application was down only make the delta scans longer.
+   */
+  public void createSnapshots(LocalDateTime snapshotAt) {
+    long afterId = 0;
+    int created = 0;
+    List<Long> accountIds;
+
+    do {
+      accountIds = accountRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+      for (Long accountId : accountIds) {
+        if (Boolean.TRUE.equals(transactionTemplate.execute(status -> createSnapshot(accountId, snapshotAt)))) {
+          created++;
+        }
+      }
+      if (!accountIds.isEmpty()) {
+        afterId = accountIds.get(accountIds.size() - 1);
+      }
+    } while (accountIds.size() == batchSize);
+
+    log.info("Created {} balance snapshots at {}", created, snapshotAt);
+  }
+
+  private boolean createSnapshot(Long accountId, LocalDateTime snapshotAt) {
+    // waits for postings in flight on the account (see above)
+    if (accountRepository.findByIdForUpdate(accountId).isEmpty()) {
+      return false;
+    }
+
+    Optional<BalanceSnapshot> previous = balanceSnapshotRepository
+        .findFirstByAccountIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(accountId, snapshotAt);
+
+    if (previous.isPresent() && previous.get().getSnapshotAt().equals(snapshotAt)) {
+      return false;
+    }
+
+    BigDecimal previousBalance = previous.map(BalanceSnapshot::getBalance).orElse(BigDecimal.ZERO);
+
+    // the balance right after the last posting before the checkpoint; ledger rows written before
+    // balanceAfter was recorded fall back to adding up the postings since the previous snapshot
+    BigDecimal balance = transactionRepository
+        .findFirstByAccountIdAndCreatedAtBeforeOrderByCreatedAtDescIdDesc(accountId, snapshotAt)
+        .map(Transaction::getBalanceAfter)
+        .orElseGet(() -> {
+          LocalDateTime from = previous.map(BalanceSnapshot::getSnapshotAt).orElse(BEGINNING);
+          return previousBalance.add(transactionRepository.sumNetAmountBetween(accountId, from, snapshotAt));
+        });
+
+    // unchanged balance: the previous snapshot (or none) gives the same answers
+    if (balance.compareTo(previousBalance) == 0) {
+      return false;
+    }
+
+    balanceSnapshotRepository.save(BalanceSnapshot.builder()
+        .account(accountRepository.getReferenceById(accountId))
+        .snapshotAt(snapshotAt)
+        .balance(balance)
+        .build());
+    return true;
+  }
+}
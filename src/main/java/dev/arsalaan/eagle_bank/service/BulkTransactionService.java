@@ -0,0 +1,123 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import dev.arsalaan.eagle_bank.dto.BulkTransactionItem;
+import dev.arsalaan.eagle_bank.dto.BulkTransactionRequest;
+import dev.arsalaan.eagle_bank.dto.BulkTransactionResponse;
+import dev.arsalaan.eagle_bank.dto.BulkTransactionResult;
+import dev.arsalaan.eagle_bank.enums.BulkMode;
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import dev.arsalaan.eagle_bank.mapper.TransactionMapper;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+
+/*
+ * Bulk posting for batch jobs (payroll, interest, ...).
+ * Ownership is checked with one query for all accounts in the request, and the postings
+ * are applied by PostingService.postBatch in a single DB transaction: accounts are locked
+ * in id order, balances written once per account and ledger rows inserted in JDBC batches.
+ */
+@Service
+public class BulkTransactionService {
+
+  private final AccountRepository accountRepository;
+  private final PostingService postingService;
+  private final TransactionMapper transactionMapper;
+  private final int maxSize;
+
+  public BulkTransactionService(AccountRepository accountRepository, PostingService postingService,
+      TransactionMapper transactionMapper, @Value("${app.transactions.bulk.max-size:1000}") int maxSize) {
+    this.accountRepository = accountRepository;
+    this.postingService = postingService;
+    this.transactionMapper = transactionMapper;
+    this.maxSize = maxSize;
+  }
+
+  public BulkTransactionResponse createTransactions(BulkTransactionRequest request, JwtPrincipal principal) {
+
+    List<BulkTransactionItem> items = request.getTransactions();
+    if (items.size() > maxSize) {
+      throw new ApiRequestException(HttpStatus.BAD_REQUEST,
+          "A bulk request can contain at most " + maxSize + " transactions");
+    }
+    BulkMode mode = request.getMode() != null ? request.getMode() : BulkMode.BEST_EFFORT;
+
+    Set<Long> accountIds = new TreeSet<>();
+    for (BulkTransactionItem item : items) {
+      accountIds.add(item.getAccountId());
+    }
+
+    Set<Long> ownedIds = new HashSet<>(accountRepository.findOwnedIds(principal.getUserId(), accountIds));
+    Set<Long> existingIds = ownedIds.size() < accountIds.size()
+        ? new HashSet<>(accountRepository.findExistingIds(accountIds))
+        : ownedIds;
+
+    BulkTransactionResult[] results = new BulkTransactionResult[items.size()];
+    List<Posting> postings = new ArrayList<>();
+    List<Integer> postingIndexes = new ArrayList<>();
+
+    for (int i = 0; i < items.size(); i++) {
+      BulkTransactionItem item = items.get(i);
+
+      if (item.getTransactionType().isTransfer()) {
+        results[i] = rejected(i, item, HttpStatus.BAD_REQUEST, "Transfers are not supported in bulk requests");
+        continue;
+      }
+
+      if (!ownedIds.contains(item.getAccountId())) {
+        results[i] = existingIds.contains(item.getAccountId())
+            ? rejected(i, item, HttpStatus.FORBIDDEN, "You are not authorized to access this account")
+            : rejected(i, item, HttpStatus.NOT_FOUND, "Account not found");
+        continue;
+      }
+
+      postings.add(new Posting(item.getAccountId(), item.getTransactionType(), item.getAmount()));
+      postingIndexes.add(i);
+    }
+
+    boolean allOrNothing = mode == BulkMode.ALL_OR_NOTHING;
+
+    if (allOrNothing && postings.size() < items.size()) {
+      // an account check already failed, so nothing may be posted
+      for (int index : postingIndexes) {
+        results[index] = rejected(index, items.get(index), HttpStatus.FAILED_DEPENDENCY,
+            "Not applied: another transaction in the batch failed");
+      }
+    } else if (!postings.isEmpty()) {
+      List<PostingResult> postingResults = postingService.postBatch(postings, allOrNothing);
+
+      for (int p = 0; p < postingResults.size(); p++) {
+        int index = postingIndexes.get(p);
+        PostingResult result = postingResults.get(p);
+
+        results[index] = result.isPosted()
+            ? new BulkTransactionResult(index, items.get(index).getAccountId(), HttpStatus.CREATED.value(),
+                transactionMapper.toTransactionResponse(result.getTransaction()), null)
+            : rejected(index, items.get(index), result.getError().getHttpStatus(), result.getError().getMessage());
+      }
+    }
+
+    int posted = 0;
+    for (BulkTransactionResult result : results) {
+      if (result.getTransaction() != null) {
+        posted++;
+      }
+    }
+
+    return new BulkTransactionResponse(mode, posted, items.size() - posted, List.of(results));
+  }
+
+  private static BulkTransactionResult rejected(int index, BulkTransactionItem item, HttpStatus status,
+      String error) {
+    return new BulkTransactionResult(index, item.getAccountId(), status.value(), null, error);
+  }
+}
@@ -0,0 +1,70 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import dev.arsalaan.eagle_bank.model.OutboxEvent;
+
+/*
+ * Appends events to a local NDJSON file, one envelope per line, for a log shipper or
+ * another process to pick up. Each batch is flushed and forced to disk before the relay
+ * deletes it from the outbox. Batches are written under a ReentrantLock, not a monitor,
+ * since it is held across the fsync.
+ */
+public class FileOutboxSink implements OutboxSink, Closeable {
+
+  private final ObjectMapper objectMapper;
+  private final FileOutputStream file;
+  private final Writer writer;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  public FileOutboxSink(Path path, ObjectMapper objectMapper) throws IOException {
+    this.objectMapper = objectMapper;
+    this.file = new FileOutputStream(path.toFile(), true);
+    this.writer = new OutputStreamWriter(file, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void publish(List<OutboxEvent> events) throws IOException {
+    lock.lock();
+    try {
+      for (OutboxEvent event : events) {
+        ObjectNode line = objectMapper.createObjectNode()
+            .put("id", event.getId())
+            .put("type", event.getEventType())
+            .put("accountId", event.getAccountId())
+            .put("accountVersion", event.getAccountVersion())
+            .put("transactionId", event.getTransactionId())
+            .put("createdAt", event.getCreatedAt().toString());
+        line.set("payload", objectMapper.readTree(event.getPayload()));
+
+        writer.write(objectMapper.writeValueAsString(line));
+        writer.write('\n');
+      }
+      writer.flush();
+      file.getChannel().force(false);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      writer.close();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import dev.arsalaan.eagle_bank.dto.TransactionResponse;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import dev.arsalaan.eagle_bank.mapper.TransactionMapper;
+import dev.arsalaan.eagle_bank.model.IdempotencyRecord;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Idempotency-Key support for transaction creation.
+ * The idempotency_keys table (unique per user and key) is the source of truth and is
+ * written in the same DB transaction as the posting. Recently used keys are also kept
+ * in memory with their response, so a replay served from the cache costs no DB round-trip.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+  private static final int MAX_KEY_LENGTH = 255;
+
+  private final IdempotencyRecordRepository idempotencyRecordRepository;
+  private final TransactionMapper transactionMapper;
+  private final Duration retention;
+  private final Cache<String, StoredResponse> cache;
+
+  public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+      TransactionMapper transactionMapper,
+      @Value("${app.idempotency.retention:24h}") Duration retention,
+      @Value("${app.idempotency.cache.ttl:10m}") Duration cacheTtl,
+      @Value("${app.idempotency.cache.max-size:100000}") long cacheMaxSize) {
+    this.idempotencyRecordRepository = idempotencyRecordRepository;
+    this.transactionMapper = transactionMapper;
+    this.retention = retention;
+    this.cache = Caffeine.newBuilder()
+        .expireAfterWrite(cacheTtl.compareTo(retention) < 0 ? cacheTtl : retention)
+        .maximumSize(cacheMaxSize)
+        .build();
+  }
+
+  public static void validateKey(String idempotencyKey) {
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+      throw new ApiRequestException(HttpStatus.BAD_REQUEST,
+          "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+    }
+  }
+
+  public static String fingerprint(Long accountId, TransactionType transactionType, BigDecimal amount) {
+    return accountId + "|" + transactionType + "|" + amount.stripTrailingZeros().toPlainString();
+  }
+
+  /*
+   * The response of an earlier request with the same key, if there was one.
+   * Throws 422 when the key was used for a different request.
+   */
+  public Optional<TransactionResponse> findReplay(Long userId, String idempotencyKey, String fingerprint) {
+    StoredResponse stored = cache.getIfPresent(cacheKey(userId, idempotencyKey));
+
+    if (stored == null) {
+      stored = idempotencyRecordRepository.findWithTransaction(userId, idempotencyKey)
+          .map(record -> new StoredResponse(record.getRequestFingerprint(),
+              transactionMapper.toTransactionResponse(record.getTransaction())))
+          .orElse(null);
+      if (stored == null) {
+        return Optional.empty();
+      }
+      cache.put(cacheKey(userId, idempotencyKey), stored);
+    }
+
+    if (!stored.fingerprint().equals(fingerprint)) {
+      throw new ApiRequestException(HttpStatus.UNPROCESSABLE_ENTITY,
+          "Idempotency-Key has already been used for a different request");
+    }
+
+    log.debug("Replaying stored response for Idempotency-Key {}", idempotencyKey);
+    return Optional.of(stored.response());
+  }
+
+  // the record to save with a posting that carries an idempotency key
+  public IdempotencyRecord newRecord(Posting posting, Transaction transaction) {
+    return IdempotencyRecord.builder()
+        .userId(posting.getUserId())
+        .idempotencyKey(posting.getIdempotencyKey())
+        .requestFingerprint(fingerprint(posting.getAccountId(), posting.getTransactionType(), posting.getAmount()))
+        .transaction(transaction)
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+
+  // called once the posting has committed
+  public void remember(Long userId, String idempotencyKey, String fingerprint, TransactionResponse response) {
+    cache.put(cacheKey(userId, idempotencyKey), new StoredResponse(fingerprint, response));
+  }
+
+  @Transactional
+  @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval:1h}")
+  public void deleteExpiredKeys() {
+    int deleted = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+    if (deleted > 0) {
+      log.info("Deleted {} expired idempotency keys", deleted);
+    }
+  }
+
+  private static String cacheKey(Long userId, String idempotencyKey) {
+    return userId + ":" + idempotencyKey;
+  }
+
+  private record StoredResponse(String fingerprint, TransactionResponse response) {
+  }
+}
@@ -0,0 +1,21 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import dev.arsalaan.eagle_bank.model.OutboxEvent;
+
+// keeps every published event in memory (tests and local runs)
+public class InMemoryOutboxSink implements OutboxSink {
+
+  private final List<OutboxEvent> events = new CopyOnWriteArrayList<>();
+
+  @Override
+  public void publish(List<OutboxEvent> batch) {
+    events.addAll(batch);
+  }
+
+  public List<OutboxEvent> getEvents() {
+    return List.copyOf(events);
+  }
+}
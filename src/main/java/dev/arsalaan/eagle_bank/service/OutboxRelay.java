@@ -0,0 +1,147 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.arsalaan.eagle_bank.dto.AccountVersion;
+import dev.arsalaan.eagle_bank.model.OutboxEvent;
+import dev.arsalaan.eagle_bank.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Delivers outbox events to the OutboxSink in the background.
+ * Each round is one DB transaction: claim a batch with FOR UPDATE SKIP LOCKED (so relays
+ * on several instances share the work without waiting on each other), publish it, delete
+ * it. A failed publish rolls back and the batch is retried on the next round, so delivery
+ * is at least once.
+ * Batches are claimed oldest first across all accounts. Per-account order: a batch is
+ * published in version order, and only with the events of each account that come before
+ * its first undelivered event outside the batch (not yet claimed, or held by another relay).
+ * Events queued behind those are left for a later round.
+ * Only present with app.outbox.enabled.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final OutboxSink outboxSink;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final int batchSize;
+  private final Timer deliveryLag;
+  private final Counter failures;
+
+  public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink outboxSink,
+      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+      @Value("${app.outbox.relay.enabled:true}") boolean enabled,
+      @Value("${app.outbox.relay.batch-size:500}") int batchSize) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.outboxSink = outboxSink;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+
+    this.deliveryLag = Timer.builder("outbox.delivery.lag")
+        .description("Time from posting to delivery of outbox events")
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+    this.failures = Counter.builder("outbox.relay.failures")
+        .description("Outbox relay rounds that failed and will be retried")
+        .register(meterRegistry);
+    TimeGauge.builder("outbox.oldest.age", this, TimeUnit.MILLISECONDS, OutboxRelay::oldestEventAgeMillis)
+        .description("Age of the oldest undelivered outbox event (0 when the outbox is empty)")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${app.outbox.relay.interval:200ms}")
+  public void relay() {
+    if (!enabled) {
+      return;
+    }
+
+    try {
+      // keep going while there is a backlog (full batches)
+      int delivered;
+      do {
+        delivered = relayBatch();
+      } while (delivered == batchSize);
+    } catch (RuntimeException ex) {
+      failures.increment();
+      log.warn("Outbox relay failed, undelivered events will be retried", ex);
+    }
+  }
+
+  // returns the number of events delivered
+  public int relayBatch() {
+    List<OutboxEvent> delivered = transactionTemplate.execute(status -> {
+      List<OutboxEvent> claimed = outboxEventRepository.claimBatch(batchSize);
+      if (claimed.isEmpty()) {
+        return List.of();
+      }
+
+      List<OutboxEvent> deliverable = inAccountOrder(claimed);
+      if (deliverable.isEmpty()) {
+        return deliverable;
+      }
+
+      try {
+        outboxSink.publish(deliverable);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+
+      outboxEventRepository.deleteAllByIdInBatch(deliverable.stream().map(OutboxEvent::getId).toList());
+      return deliverable;
+    });
+
+    LocalDateTime now = LocalDateTime.now();
+    for (OutboxEvent event : delivered) {
+      deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+    }
+    return delivered.size();
+  }
+
+  // the claimed events, by account and version, that no undelivered event outside the batch precedes
+  private List<OutboxEvent> inAccountOrder(List<OutboxEvent> claimed) {
+    List<Long> accountIds = claimed.stream().map(OutboxEvent::getAccountId).distinct().toList();
+    List<Long> claimedIds = claimed.stream().map(OutboxEvent::getId).toList();
+
+    Map<Long, Long> firstOutside = new HashMap<>();
+    for (AccountVersion head : outboxEventRepository.findOldestVersionsExcluding(accountIds, claimedIds)) {
+      firstOutside.put(head.accountId(), head.version());
+    }
+
+    return claimed.stream()
+        .filter(event -> {
+          Long bound = firstOutside.get(event.getAccountId());
+          return bound == null || event.getAccountVersion() < bound;
+        })
+        .sorted(Comparator.comparing(OutboxEvent::getAccountId).thenComparing(OutboxEvent::getAccountVersion))
+        .toList();
+  }
+
+  private double oldestEventAgeMillis() {
+    LocalDateTime oldest = outboxEventRepository.findOldestCreatedAt();
+    return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis();
+  }
+}
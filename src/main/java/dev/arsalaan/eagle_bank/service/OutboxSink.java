@@ -0,0 +1,17 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.io.IOException;
+import java.util.List;
+
+import dev.arsalaan.eagle_bank.model.OutboxEvent;
+
+/*
+ * Destination of outbox events (selected with app.outbox.sink, see OutboxConfig).
+ * Events arrive in order per account. The relay deletes them only after publish returns,
+ * so a failure or crash in between means they are published again: consumers must
+ * de-duplicate, e.g. on (accountId, accountVersion).
+ */
+public interface OutboxSink {
+
+  void publish(List<OutboxEvent> events) throws IOException;
+}
@@ -0,0 +1,59 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.arsalaan.eagle_bank.mapper.TransactionMapper;
+import dev.arsalaan.eagle_bank.model.OutboxEvent;
+import dev.arsalaan.eagle_bank.repository.OutboxEventRepository;
+
+/*
+ * Writes an outbox row for every posting, in the posting's own DB transaction, so the
+ * ledger row and its event are committed or rolled back together. Runs just before
+ * commit; the rows go out in the same flush (and JDBC batches) as the ledger rows, and
+ * nothing downstream is called on the posting path.
+ * Only present with app.outbox.enabled.
+ */
+@Service
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true")
+public class OutboxWriter {
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final TransactionMapper transactionMapper;
+  private final ObjectMapper objectMapper;
+
+  public OutboxWriter(OutboxEventRepository outboxEventRepository, TransactionMapper transactionMapper,
+      ObjectMapper objectMapper) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.transactionMapper = transactionMapper;
+    this.objectMapper = objectMapper;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onTransactionPosted(TransactionPostedEvent event) {
+    String payload;
+    try {
+      payload = objectMapper.writeValueAsString(transactionMapper.toTransactionResponse(event.transaction()));
+    } catch (JsonProcessingException ex) {
+      // fails the posting: a ledger row must never be committed without its event
+      throw new UncheckedIOException(ex);
+    }
+
+    outboxEventRepository.save(OutboxEvent.builder()
+        .accountId(event.accountId())
+        .accountVersion(event.accountVersion())
+        .transactionId(event.transaction().getId())
+        .eventType(OutboxEvent.TRANSACTION_POSTED)
+        .payload(payload)
+        .createdAt(LocalDateTime.now())
+        .build());
+  }
+}
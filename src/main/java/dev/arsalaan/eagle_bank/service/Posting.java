@@ -0,0 +1,27 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.math.BigDecimal;
+
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+ * A single balance change to apply to an account (already ownership-checked).
+ * When an idempotency key is given, the key is recorded in the same DB transaction as
+ * the posting, so a retried request can never post twice.
+ */
+@Getter
+@AllArgsConstructor
+public class Posting {
+
+  private final Long accountId;
+  private final TransactionType transactionType;
+  private final BigDecimal amount;
+  private final Long userId;
+  private final String idempotencyKey;
+
+  public Posting(Long accountId, TransactionType transactionType, BigDecimal amount) {
+    this(accountId, transactionType, amount, null, null);
+  }
+}
@@ -0,0 +1,30 @@
+package dev.arsalaan.eagle_bank.service;
+
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+ * Outcome of one posting within a batch: either the saved transaction or the reason it was rejected.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PostingResult {
+
+  private final Transaction transaction;
+  private final ApiRequestException error;
+
+  public static PostingResult posted(Transaction transaction) {
+    return new PostingResult(transaction, null);
+  }
+
+  public static PostingResult rejected(ApiRequestException error) {
+    return new PostingResult(null, error);
+  }
+
+  public boolean isPosted() {
+    return error == null;
+  }
+}
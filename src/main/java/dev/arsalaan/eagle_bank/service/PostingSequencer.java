@@ -0,0 +1,278 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Optional in-process sequencer for hot accounts (app.posting.sequencer.enabled).
+ * Postings are routed to one of N stripes by account id; each stripe has a single writer
+ * thread that drains its queue and applies everything queued so far with
+ * PostingService.postBatch, i.e. one row lock and one balance UPDATE per account.
+ * Postings for the same account are therefore serialized in-process instead of queueing
+ * on the accounts row lock (and holding DB connections while they wait), and accounts on
+ * other stripes are never blocked.
+ * With linger-ms > 0 a writer waits that long for more postings before committing, so
+ * postings arriving close together share one DB transaction (group commit); each caller
+ * still gets its own result. Fewer stripes means larger groups across accounts.
+ * Callers wait at most submit-timeout. On shutdown new postings are rejected and queued
+ * ones fail with 503, so no request thread is left waiting on a stopped writer. Batches
+ * already being written are allowed to commit; a writer is only interrupted once it has
+ * been stuck for longer than submit-timeout.
+ */
+@Slf4j
+@Service
+public class PostingSequencer {
+
+  // queued by stop() to wake up idle writers
+  private static final PendingPosting POISON = new PendingPosting(null);
+
+  private final PostingService postingService;
+  private final boolean enabled;
+  private final int maxBatchSize;
+  private final long lingerNanos;
+  private final Duration submitTimeout;
+  private final Stripe[] stripes;
+  private volatile boolean accepting = true;
+
+  public PostingSequencer(PostingService postingService,
+      @Value("${app.posting.sequencer.enabled:false}") boolean enabled,
+      @Value("${app.posting.sequencer.stripes:16}") int stripeCount,
+      @Value("${app.posting.sequencer.queue-capacity:10000}") int queueCapacity,
+      @Value("${app.posting.sequencer.max-batch-size:100}") int maxBatchSize,
+      @Value("${app.posting.sequencer.linger-ms:0}") long lingerMs,
+      @Value("${app.posting.sequencer.submit-timeout:10s}") Duration submitTimeout) {
+    this.postingService = postingService;
+    this.enabled = enabled;
+    this.maxBatchSize = maxBatchSize;
+    this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+    this.submitTimeout = submitTimeout;
+    this.stripes = new Stripe[enabled ? stripeCount : 0];
+
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe(i, queueCapacity);
+    }
+  }
+
+  @PostConstruct
+  void start() {
+    for (Stripe stripe : stripes) {
+      stripe.thread.start();
+    }
+    if (enabled) {
+      log.info("Posting sequencer started with {} stripes (linger {} ms)", stripes.length,
+          TimeUnit.NANOSECONDS.toMillis(lingerNanos));
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    accepting = false;
+    // queued postings never reached the database and fail fast; a writer blocked in take()
+    // wakes up on the pill (a full queue means it is not blocked and sees running on its own)
+    for (Stripe stripe : stripes) {
+      stripe.running = false;
+      stripe.failQueued();
+      stripe.queue.offer(POISON);
+    }
+
+    // let batches in flight finish; interrupt only a writer stuck past the submit timeout,
+    // whose callers have already given up on it
+    for (Stripe stripe : stripes) {
+      try {
+        stripe.thread.join(submitTimeout.toMillis());
+        if (stripe.thread.isAlive()) {
+          log.warn("{} did not finish its batch within {}, interrupting it", stripe.thread.getName(), submitTimeout);
+          stripe.thread.interrupt();
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      stripe.failQueued();
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  // blocks the caller (but not a DB connection) until the posting has been committed or rejected
+  public Transaction submit(Posting posting) {
+    if (!accepting) {
+      throw shuttingDown();
+    }
+
+    PendingPosting pending = new PendingPosting(posting);
+    Stripe stripe = stripes[Math.floorMod(posting.getAccountId().hashCode(), stripes.length)];
+
+    if (!stripe.queue.offer(pending)) {
+      throw new ApiRequestException(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending transactions, please retry");
+    }
+    // stop() may have drained the queue between the check above and the offer
+    if (!accepting && stripe.queue.remove(pending)) {
+      throw shuttingDown();
+    }
+
+    try {
+      return pending.result.get(submitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(ex.getCause());
+    } catch (TimeoutException ex) {
+      throw gaveUp(stripe, pending);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw gaveUp(stripe, pending);
+    }
+  }
+
+  private ApiRequestException gaveUp(Stripe stripe, PendingPosting pending) {
+    if (stripe.queue.remove(pending)) {
+      // never reached the database
+      return new ApiRequestException(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending transactions, please retry");
+    }
+    // already being written: it may still be committed
+    return new ApiRequestException(HttpStatus.GATEWAY_TIMEOUT,
+        "Timed out waiting for the transaction, retry with the same Idempotency-Key");
+  }
+
+  private static ApiRequestException shuttingDown() {
+    return new ApiRequestException(HttpStatus.SERVICE_UNAVAILABLE, "Service is shutting down, please retry");
+  }
+
+  private void process(List<PendingPosting> batch) {
+    List<Posting> postings = batch.stream().map(pending -> pending.posting).toList();
+
+    try {
+      List<PostingResult> results = postingService.postBatch(postings, false);
+
+      for (int i = 0; i < batch.size(); i++) {
+        PostingResult result = results.get(i);
+        if (result.isPosted()) {
+          batch.get(i).result.complete(result.getTransaction());
+        } else {
+          batch.get(i).result.completeExceptionally(result.getError());
+        }
+      }
+    } catch (RuntimeException ex) {
+      if (batch.size() == 1) {
+        batch.get(0).result.completeExceptionally(ex);
+        return;
+      }
+      // one bad posting must not fail its neighbours
+      log.warn("Batch of {} postings failed, retrying them one by one", batch.size(), ex);
+      for (PendingPosting pending : batch) {
+        process(List.of(pending));
+      }
+    }
+  }
+
+  private static class PendingPosting {
+
+    private final Posting posting;
+    private final CompletableFuture<Transaction> result = new CompletableFuture<>();
+
+    PendingPosting(Posting posting) {
+      this.posting = posting;
+    }
+  }
+
+  private class Stripe {
+
+    private final BlockingQueue<PendingPosting> queue;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    Stripe(int index, int queueCapacity) {
+      this.queue = new LinkedBlockingQueue<>(queueCapacity);
+      this.thread = new Thread(this::run, "posting-sequencer-" + index);
+      this.thread.setDaemon(true);
+    }
+
+    private void run() {
+      List<PendingPosting> batch = new ArrayList<>(maxBatchSize);
+
+      while (running) {
+        PendingPosting next;
+        try {
+          next = queue.take();
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+        if (next == POISON) {
+          break;
+        }
+        batch.add(next);
+
+        // everything that queued up behind the first posting goes into the same DB transaction
+        queue.drainTo(batch, maxBatchSize - 1);
+        if (lingerNanos > 0) {
+          linger(batch);
+        }
+        // the pill may have been drained with the batch; running is already false then
+        batch.removeIf(pending -> pending == POISON);
+        if (!batch.isEmpty()) {
+          process(batch);
+        }
+        batch.clear();
+      }
+
+      failQueued();
+    }
+
+    private void failQueued() {
+      PendingPosting pending;
+      while ((pending = queue.poll()) != null) {
+        if (pending != POISON) {
+          pending.result.completeExceptionally(shuttingDown());
+        }
+      }
+    }
+
+    // group commit: keep collecting until the batch is full or the linger window has passed
+    private void linger(List<PendingPosting> batch) {
+      long deadline = System.nanoTime() + lingerNanos;
+
+      while (batch.size() < maxBatchSize) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return;
+        }
+
+        PendingPosting next;
+        try {
+          next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+          // commit what we have; the run loop sees the interrupt on its next take()
+          Thread.currentThread().interrupt();
+          return;
+        }
+        if (next == null || next == POISON) {
+          return;
+        }
+
+        batch.add(next);
+        queue.drainTo(batch, maxBatchSize - batch.size());
+      }
+    }
+  }
+}
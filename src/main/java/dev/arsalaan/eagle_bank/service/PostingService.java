@@ -0,0 +1,263 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import dev.arsalaan.eagle_bank.dto.BalanceVersion;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.IdempotencyRecord;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.IdempotencyRecordRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+
+/*
+ * Applies postings to the ledger.
+ * The funds check and the balance change happen in one conditional UPDATE, in the same
+ * DB transaction as the ledger insert, so concurrent postings are safe without locks in Java.
+ * Each ledger row records the balance right after it was applied (balanceAfter).
+ * Callers are expected to have checked account ownership already.
+ * Every ledger row written is also published as a TransactionPostedEvent.
+ */
+@Service
+public class PostingService {
+
+  private final AccountRepository accountRepository;
+  private final TransactionRepository transactionRepository;
+  private final IdempotencyRecordRepository idempotencyRecordRepository;
+  private final IdempotencyService idempotencyService;
+  private final AccountViewCache accountViewCache;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public PostingService(AccountRepository accountRepository, TransactionRepository transactionRepository,
+      IdempotencyRecordRepository idempotencyRecordRepository, IdempotencyService idempotencyService,
+      AccountViewCache accountViewCache, ApplicationEventPublisher eventPublisher) {
+    this.accountRepository = accountRepository;
+    this.transactionRepository = transactionRepository;
+    this.idempotencyRecordRepository = idempotencyRecordRepository;
+    this.idempotencyService = idempotencyService;
+    this.accountViewCache = accountViewCache;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Transactional
+  public Transaction post(Long accountId, TransactionType transactionType, BigDecimal amount) {
+    return post(new Posting(accountId, transactionType, amount));
+  }
+
+  /*
+   * A duplicate idempotency key fails the insert with DataIntegrityViolationException,
+   * which rolls back the balance change as well.
+   */
+  @Transactional
+  public Transaction post(Posting posting) {
+    Long accountId = posting.getAccountId();
+    TransactionType transactionType = posting.getTransactionType();
+    BigDecimal amount = posting.getAmount();
+
+    if (transactionType.isCredit()) {
+      if (accountRepository.credit(accountId, amount) == 0) {
+        throw new ApiRequestException(HttpStatus.NOT_FOUND, "Account not found");
+      }
+    } else if (accountRepository.debit(accountId, amount) == 0) {
+      throw new ApiRequestException(HttpStatus.UNPROCESSABLE_ENTITY, "Insufficient funds");
+    }
+
+    // cached views are evicted once this transaction commits
+    accountViewCache.evictAccount(accountId);
+
+    // the row lock taken by the UPDATE is held until commit, so this is exactly our resulting balance
+    // and version, and createdAt follows the order in which postings to the account were applied
+    BalanceVersion applied = accountRepository.findBalanceVersionById(accountId);
+
+    Transaction transaction = Transaction.builder()
+        .transactionType(transactionType)
+        .amount(amount)
+        .balanceAfter(applied.balance())
+        .createdAt(LocalDateTime.now())
+        .account(accountRepository.getReferenceById(accountId))
+        .build();
+
+    Transaction savedTransaction = transactionRepository.save(transaction);
+
+    if (posting.getIdempotencyKey() != null) {
+      idempotencyRecordRepository.saveAndFlush(idempotencyService.newRecord(posting, savedTransaction));
+    }
+
+    eventPublisher.publishEvent(new TransactionPostedEvent(accountId, applied.version(), savedTransaction));
+    return savedTransaction;
+  }
+
+  /*
+   * Applies a group of postings in one DB transaction. Each account row is locked once,
+   * in ascending id order so concurrent batches cannot deadlock; postings are checked
+   * against the running balance in submission order, and the net change is written with
+   * a single UPDATE per account. Rejected postings do not affect the others, unless
+   * allOrNothing is set: then any rejection rolls the whole batch back and the postings
+   * that would have succeeded are reported as 424 Failed Dependency.
+   */
+  @Transactional
+  public List<PostingResult> postBatch(List<Posting> postings, boolean allOrNothing) {
+
+    Map<Long, List<Integer>> postingsByAccount = new TreeMap<>();
+    for (int i = 0; i < postings.size(); i++) {
+      postingsByAccount.computeIfAbsent(postings.get(i).getAccountId(), id -> new ArrayList<>()).add(i);
+    }
+
+    PostingResult[] results = new PostingResult[postings.size()];
+    List<Transaction> ledger = new ArrayList<>();
+    List<TransactionPostedEvent> events = new ArrayList<>();
+    List<IdempotencyRecord> idempotencyRecords = new ArrayList<>();
+
+    for (Map.Entry<Long, List<Integer>> entry : postingsByAccount.entrySet()) {
+      Optional<Account> lockedAccount = accountRepository.findByIdForUpdate(entry.getKey());
+
+      if (lockedAccount.isEmpty()) {
+        for (int index : entry.getValue()) {
+          results[index] = PostingResult.rejected(new ApiRequestException(HttpStatus.NOT_FOUND, "Account not found"));
+        }
+        continue;
+      }
+
+      Account account = lockedAccount.get();
+      BigDecimal balance = account.getBalance();
+      long version = account.getVersion();
+
+      for (int index : entry.getValue()) {
+        Posting posting = postings.get(index);
+        BigDecimal newBalance = posting.getTransactionType().isCredit()
+            ? balance.add(posting.getAmount())
+            : balance.subtract(posting.getAmount());
+
+        if (newBalance.signum() < 0) {
+          results[index] = PostingResult.rejected(
+              new ApiRequestException(HttpStatus.UNPROCESSABLE_ENTITY, "Insufficient funds"));
+          continue;
+        }
+
+        balance = newBalance;
+        version++;
+
+        Transaction transaction = Transaction.builder()
+            .transactionType(posting.getTransactionType())
+            .amount(posting.getAmount())
+            .balanceAfter(newBalance)
+            .createdAt(LocalDateTime.now())
+            .account(account)
+            .build();
+
+        ledger.add(transaction);
+        events.add(new TransactionPostedEvent(account.getId(), version, transaction));
+        if (posting.getIdempotencyKey() != null) {
+          idempotencyRecords.add(idempotencyService.newRecord(posting, transaction));
+        }
+        results[index] = PostingResult.posted(transaction);
+      }
+
+      // flushed as one UPDATE of the balance and version columns at commit;
+      // the version moves on by one per posting, like a single posting's UPDATE
+      if (version != account.getVersion()) {
+        account.setBalance(balance);
+        account.setVersion(version);
+        accountViewCache.evictAccount(account.getId());
+      }
+    }
+
+    if (allOrNothing && ledger.size() < postings.size()) {
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+
+      for (int i = 0; i < results.length; i++) {
+        if (results[i].isPosted()) {
+          results[i] = PostingResult.rejected(new ApiRequestException(HttpStatus.FAILED_DEPENDENCY,
+              "Not applied: another transaction in the batch failed"));
+        }
+      }
+      return Arrays.asList(results);
+    }
+
+    transactionRepository.saveAll(ledger);
+
+    if (!idempotencyRecords.isEmpty()) {
+      // surface duplicate keys here rather than at commit
+      idempotencyRecordRepository.saveAll(idempotencyRecords);
+      idempotencyRecordRepository.flush();
+    }
+
+    events.forEach(eventPublisher::publishEvent);
+
+    return Arrays.asList(results);
+  }
+
+  /*
+   * Moves money between two accounts in one DB transaction and writes a linked pair of
+   * ledger rows (TRANSFER_OUT on the source, TRANSFER_IN on the destination).
+   * Both rows are locked in ascending id order, whichever direction the money moves, so
+   * concurrent transfers between the same accounts cannot deadlock.
+   * Returns the source-side transaction.
+   */
+  @Transactional
+  public Transaction transfer(Long fromAccountId, Long toAccountId, BigDecimal amount) {
+
+    boolean fromFirst = fromAccountId < toAccountId;
+    Optional<Account> firstLocked = accountRepository.findByIdForUpdate(fromFirst ? fromAccountId : toAccountId);
+    Optional<Account> secondLocked = accountRepository.findByIdForUpdate(fromFirst ? toAccountId : fromAccountId);
+
+    Account from = (fromFirst ? firstLocked : secondLocked)
+        .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "Account not found"));
+    Account to = (fromFirst ? secondLocked : firstLocked)
+        .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "Destination account not found"));
+
+    if (from.getBalance().compareTo(amount) < 0) {
+      throw new ApiRequestException(HttpStatus.UNPROCESSABLE_ENTITY, "Insufficient funds");
+    }
+
+    // flushed as one balance UPDATE per account at commit
+    from.setBalance(from.getBalance().subtract(amount));
+    from.setVersion(from.getVersion() + 1);
+    to.setBalance(to.getBalance().add(amount));
+    to.setVersion(to.getVersion() + 1);
+    accountViewCache.evictAccount(fromAccountId);
+    accountViewCache.evictAccount(toAccountId);
+
+    LocalDateTime createdAt = LocalDateTime.now();
+
+    Transaction debit = transactionRepository.save(Transaction.builder()
+        .transactionType(TransactionType.TRANSFER_OUT)
+        .amount(amount)
+        .balanceAfter(from.getBalance())
+        .createdAt(createdAt)
+        .account(from)
+        .build());
+
+    Transaction credit = transactionRepository.save(Transaction.builder()
+        .transactionType(TransactionType.TRANSFER_IN)
+        .amount(amount)
+        .balanceAfter(to.getBalance())
+        .createdAt(createdAt)
+        .account(to)
+        .linkedTransactionId(debit.getId())
+        .build());
+
+    // ids come from the sequence at save time, so the pair can reference each other
+    debit.setLinkedTransactionId(credit.getId());
+
+    eventPublisher.publishEvent(new TransactionPostedEvent(fromAccountId, from.getVersion(), debit));
+    eventPublisher.publishEvent(new TransactionPostedEvent(toAccountId, to.getVersion(), credit));
+
+    return debit;
+  }
+}
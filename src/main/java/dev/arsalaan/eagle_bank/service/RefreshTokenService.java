@@ -0,0 +1,126 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import dev.arsalaan.eagle_bank.dto.JwtResponse;
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import dev.arsalaan.eagle_bank.model.RefreshToken;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.RefreshTokenRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Opaque, rotating refresh tokens.
+ * A refresh costs one indexed lookup (token + user), the rotation writes and an HMAC
+ * signature for the new access token; no password hashing is involved.
+ * Tokens are 256 random bits, so a plain SHA-256 is enough to store them safely.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+  private static final int TOKEN_BYTES = 32;
+
+  private final RefreshTokenRepository refreshTokenRepository;
+  private final UserRepository userRepository;
+  private final JwtTokenUtil jwtTokenUtil;
+  private final Duration expiration;
+  private final SecureRandom secureRandom = new SecureRandom();
+
+  public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+      JwtTokenUtil jwtTokenUtil, @Value("${app.jwt.refresh-expiration:30d}") Duration expiration) {
+    this.refreshTokenRepository = refreshTokenRepository;
+    this.userRepository = userRepository;
+    this.jwtTokenUtil = jwtTokenUtil;
+    this.expiration = expiration;
+  }
+
+  // starts a new token family (at login)
+  @Transactional
+  public String issue(Long userId) {
+    return issue(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+  }
+
+  /*
+   * Exchanges a refresh token for a new access token and a new refresh token.
+   * A token that has already been used revokes its whole family, so a stolen token
+   * stops working for the thief and the legitimate client alike (both must log in again).
+   */
+  @Transactional(noRollbackFor = ApiRequestException.class)
+  public JwtResponse refresh(String rawToken) {
+    RefreshToken token = refreshTokenRepository.findWithUser(hash(rawToken))
+        .orElseThrow(RefreshTokenService::invalidToken);
+
+    LocalDateTime now = LocalDateTime.now();
+
+    if (token.getUsedAt() != null || refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+      int revoked = refreshTokenRepository.deleteFamily(token.getFamilyId());
+      log.warn("Refresh token reuse detected for user {}, revoked {} tokens", token.getUser().getId(), revoked);
+      throw invalidToken();
+    }
+
+    if (token.getExpiresAt().isBefore(now)) {
+      throw invalidToken();
+    }
+
+    User user = token.getUser();
+    String accessToken = jwtTokenUtil.generateToken(user.getEmail(), user.getId());
+
+    return new JwtResponse(user.getEmail(), accessToken, issue(user, token.getFamilyId()));
+  }
+
+  @Transactional
+  @Scheduled(fixedDelayString = "${app.jwt.refresh-cleanup-interval:1h}")
+  public void deleteExpiredTokens() {
+    int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+    if (deleted > 0) {
+      log.info("Deleted {} expired refresh tokens", deleted);
+    }
+  }
+
+  private String issue(User user, String familyId) {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    secureRandom.nextBytes(bytes);
+    String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+    LocalDateTime now = LocalDateTime.now();
+    refreshTokenRepository.save(RefreshToken.builder()
+        .tokenHash(hash(rawToken))
+        .familyId(familyId)
+        .user(user)
+        .createdAt(now)
+        .expiresAt(now.plus(expiration))
+        .build());
+
+    return rawToken;
+  }
+
+  private static String hash(String rawToken) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 not available", ex);
+    }
+  }
+
+  private static ApiRequestException invalidToken() {
+    return new ApiRequestException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token");
+  }
+}
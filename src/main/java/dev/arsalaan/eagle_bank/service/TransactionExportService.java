@@ -0,0 +1,114 @@
+package dev.arsalaan.eagle_bank.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.arsalaan.eagle_bank.dto.TransactionResponse;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import dev.arsalaan.eagle_bank.repository.TransactionExportRepository;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Full statement exports as NDJSON or CSV.
+ * Ownership is checked up front, while an error can still be returned as a normal response;
+ * the rows are then written to the response as they are read from the cursor, so only the
+ * current fetch block and the output buffer are ever held in memory.
+ */
+@Slf4j
+@Service
+public class TransactionExportService {
+
+  private static final String CSV_HEADER = "id,transactionType,amount,createdAt,balanceAfter";
+
+  private final TransactionExportRepository transactionExportRepository;
+  private final AccountAccessService accountAccessService;
+  private final TransactionTemplate readOnlyTransaction;
+  private final ObjectMapper objectMapper;
+
+  public TransactionExportService(TransactionExportRepository transactionExportRepository,
+      AccountAccessService accountAccessService, PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper) {
+    this.transactionExportRepository = transactionExportRepository;
+    this.accountAccessService = accountAccessService;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.objectMapper = objectMapper;
+  }
+
+  public enum Format {
+    NDJSON, CSV
+  }
+
+  public static Format parseFormat(String format) {
+    try {
+      return Format.valueOf(format.toUpperCase());
+    } catch (IllegalArgumentException ex) {
+      throw new ApiRequestException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+    }
+  }
+
+  public StreamingResponseBody exportTransactions(Long accountId, Format format, LocalDateTime from, LocalDateTime to,
+      TransactionType transactionType, JwtPrincipal principal) {
+
+    accountAccessService.checkOwnership(accountId, principal.getUserId(),
+        "You are not authorized to access this account");
+
+    return outputStream -> {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+      if (format == Format.CSV) {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+      }
+
+      try {
+        // the transaction keeps the cursor open (and autocommit off) while rows are written
+        readOnlyTransaction.executeWithoutResult(status -> transactionExportRepository.streamByAccountId(
+            accountId, from, to, transactionType, rs -> {
+              TransactionResponse row = new TransactionResponse();
+              row.setId(rs.getLong("id"));
+              row.setTransactionType(TransactionType.valueOf(rs.getString("transaction_type")));
+              row.setAmount(rs.getBigDecimal("amount"));
+              row.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+              row.setBalanceAfter(rs.getBigDecimal("balance_after"));
+              writeRow(writer, format, row);
+            }));
+      } catch (UncheckedIOException ex) {
+        // client went away mid-export; the cursor and connection are released by the rollback
+        log.warn("Export of account {} aborted: {}", accountId, ex.getMessage());
+        throw ex.getCause();
+      }
+
+      writer.flush();
+    };
+  }
+
+  private void writeRow(Writer writer, Format format, TransactionResponse row) {
+    try {
+      if (format == Format.CSV) {
+        writer.write(row.getId() + "," + row.getTransactionType() + "," + row.getAmount().toPlainString() + ","
+            + row.getCreatedAt() + "," + (row.getBalanceAfter() != null ? row.getBalanceAfter().toPlainString() : ""));
+      } else {
+        writer.write(objectMapper.writeValueAsString(row));
+      }
+      writer.write('\n');
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
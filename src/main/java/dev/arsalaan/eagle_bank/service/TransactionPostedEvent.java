@@ -0,0 +1,13 @@
+package dev.arsalaan.eagle_bank.service;
+
+import dev.arsalaan.eagle_bank.model.Transaction;
+
+/*
+ * Published by PostingService for every ledger row it writes, inside the posting's DB
+ * transaction. Listeners that need the row to be committed use
+ * @TransactionalEventListener (AFTER_COMMIT); a rolled-back posting delivers nothing.
+ * accountVersion is the account version right after this posting; it is unique per
+ * posting to the account and increases in commit order.
+ */
+public record TransactionPostedEvent(Long accountId, long accountVersion, Transaction transaction) {
+}
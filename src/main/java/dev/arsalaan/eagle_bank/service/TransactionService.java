@@ -1,110 +1,215 @@
 package dev.arsalaan.eagle_bank.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 
+import io.micrometer.core.annotation.Timed;
+
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import dev.arsalaan.eagle_bank.dto.TransactionPage;
 import dev.arsalaan.eagle_bank.dto.TransactionRequest;
 import dev.arsalaan.eagle_bank.dto.TransactionResponse;
+import dev.arsalaan.eagle_bank.dto.TransferRequest;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
 import dev.arsalaan.eagle_bank.exception.ApiRequestException;
 import dev.arsalaan.eagle_bank.mapper.TransactionMapper;
-import dev.arsalaan.eagle_bank.model.Account;
 import dev.arsalaan.eagle_bank.model.Transaction;
-import dev.arsalaan.eagle_bank.enums.TransactionType;
 
-import dev.arsalaan.eagle_bank.repository.AccountRepository;
 import dev.arsalaan.eagle_bank.repository.TransactionRepository;
-import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
 
+@Timed("app.service")
 @Service
 public class TransactionService {
 
+  public static final int DEFAULT_PAGE_SIZE = 50;
+  public static final int MAX_PAGE_SIZE = 200;
+
   private final TransactionRepository transactionRepository;
-  private final AccountRepository accountRepository;
-  private final JwtTokenUtil jwtTokenUtil;
   private final TransactionMapper transactionMapper;
-
-  public TransactionService(TransactionRepository transactionRepository, AccountRepository accountRepository,
-      JwtTokenUtil jwtTokenUtil, TransactionMapper transactionMapper) {
+  private final AccountAccessService accountAccessService;
+  private final PostingService postingService;
+  private final PostingSequencer postingSequencer;
+  private final IdempotencyService idempotencyService;
+  private final AccountService accountService;
+
+  public TransactionService(TransactionRepository transactionRepository, TransactionMapper transactionMapper,
+      AccountAccessService accountAccessService, PostingService postingService, PostingSequencer postingSequencer,
+      IdempotencyService idempotencyService, AccountService accountService) {
     this.transactionRepository = transactionRepository;
-    this.accountRepository = accountRepository;
-    this.jwtTokenUtil = jwtTokenUtil;
     this.transactionMapper = transactionMapper;
+    this.accountAccessService = accountAccessService;
+    this.postingService = postingService;
+    this.postingSequencer = postingSequencer;
+    this.idempotencyService = idempotencyService;
+    this.accountService = accountService;
   }
 
-  public TransactionResponse createTransaction(Long accountId, TransactionRequest transactionRequest, String token) {
+  /*
+   * With an idempotency key, a repeated request returns the response of the first one
+   * instead of posting again (idempotencyKey may be null).
+   */
+  public TransactionResponse createTransaction(Long accountId, TransactionRequest transactionRequest,
+      String idempotencyKey, JwtPrincipal principal) {
+
+    rejectTransferType(transactionRequest.getTransactionType());
+
+    String fingerprint = null;
+    if (idempotencyKey != null) {
+      IdempotencyService.validateKey(idempotencyKey);
+      fingerprint = IdempotencyService.fingerprint(accountId, transactionRequest.getTransactionType(),
+          transactionRequest.getAmount());
+
+      Optional<TransactionResponse> replay = idempotencyService.findReplay(principal.getUserId(), idempotencyKey,
+          fingerprint);
+      if (replay.isPresent()) {
+        return replay.get();
+      }
+    }
 
-    Account account = accountRepository.findById(accountId)
-        .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "Account not found"));
+    accountAccessService.checkOwnership(accountId, principal.getUserId(),
+        "You are not authorized to access this account");
+
+    Posting posting = new Posting(accountId, transactionRequest.getTransactionType(), transactionRequest.getAmount(),
+        principal.getUserId(), idempotencyKey);
+
+    Transaction savedTransaction;
+    try {
+      savedTransaction = postingSequencer.isEnabled() ? postingSequencer.submit(posting) : postingService.post(posting);
+    } catch (DataIntegrityViolationException ex) {
+      if (idempotencyKey == null) {
+        throw ex;
+      }
+      // a concurrent request with the same key committed first and ours was rolled back
+      return idempotencyService.findReplay(principal.getUserId(), idempotencyKey, fingerprint)
+          .orElseThrow(() -> ex);
+    }
 
-    String email = jwtTokenUtil.getUsernameFromToken(token);
+    TransactionResponse response = transactionMapper.toTransactionResponse(savedTransaction);
 
-    if (!account.getUser().getEmail().equals(email)) {
-      throw new ApiRequestException(HttpStatus.FORBIDDEN, "You are not authorized to access this account");
+    if (idempotencyKey != null) {
+      idempotencyService.remember(principal.getUserId(), idempotencyKey, fingerprint, response);
     }
 
-    TransactionType transactionType = transactionRequest.getTransactionType();
+    return response;
+  }
 
-    if (transactionType == TransactionType.WITHDRAWAL &&
-        account.getBalance().compareTo(transactionRequest.getAmount()) < 0) {
-      throw new ApiRequestException(HttpStatus.UNPROCESSABLE_ENTITY, "Insufficient funds");
-    }
+  /*
+   * Debits the caller's account and credits the destination (which may belong to another
+   * user) atomically. Only the source side is returned, so nothing about the destination
+   * account is revealed.
+   */
+  public TransactionResponse transfer(Long accountId, TransferRequest transferRequest, JwtPrincipal principal) {
 
-    Transaction transaction = Transaction.builder()
-        .transactionType(transactionType)
-        .amount(transactionRequest.getAmount())
-        .createdAt(LocalDateTime.now())
-        .account(account)
-        .build();
-
-    if (transactionType == TransactionType.DEPOSIT) {
-      account.setBalance(account.getBalance().add(transactionRequest.getAmount()));
-    } else {
-      account.setBalance(account.getBalance().subtract(transactionRequest.getAmount()));
+    if (accountId.equals(transferRequest.getToAccountId())) {
+      throw new ApiRequestException(HttpStatus.BAD_REQUEST, "Cannot transfer to the same account");
     }
 
-    accountRepository.save(account);
-    Transaction savedTransaction = transactionRepository.save(transaction);
+    accountAccessService.checkOwnership(accountId, principal.getUserId(),
+        "You are not authorized to access this account");
+
+    Transaction debit = postingService.transfer(accountId, transferRequest.getToAccountId(),
+        transferRequest.getAmount());
+
+    return transactionMapper.toTransactionResponse(debit);
+  }
 
-    return transactionMapper.toTransactionResponse(savedTransaction);
+  // transfer rows only come from transfer(), which writes both sides
+  public static void rejectTransferType(TransactionType transactionType) {
+    if (transactionType.isTransfer()) {
+      throw new ApiRequestException(HttpStatus.BAD_REQUEST,
+          "Transfers must be made through /v1/accounts/{accountId}/transfers");
+    }
   }
 
-  public List<TransactionResponse> getAllTransactionsByAccountId(Long accountId, String token) {
+  /*
+   * Returns one page of the account's transactions, newest first. The cursor is the opaque
+   * token returned with the previous page; the next page starts strictly after it, so pages
+   * stay stable while new transactions are posted.
+   */
+  @Transactional(readOnly = true)
+  public TransactionPage getAllTransactionsByAccountId(Long accountId, LocalDateTime from, LocalDateTime to,
+      TransactionType transactionType, Integer limit, String cursor, JwtPrincipal principal) {
+
+    int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+    if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+      throw new ApiRequestException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+
+    CursorPosition after = cursor != null ? decodeCursor(cursor) : null;
 
-    Account account = accountRepository.findById(accountId)
-        .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "Account not found"));
+    long accountVersion = accountAccessService.getOwnedVersion(accountId, principal.getUserId(),
+        "You are not authorized to access this account");
 
-    String email = jwtTokenUtil.getUsernameFromToken(token);
+    // one extra row tells us whether there is a next page
+    List<Transaction> transactions = transactionRepository.findPage(accountId, from, to, transactionType,
+        after != null ? after.createdAt() : null, after != null ? after.id() : null, pageSize + 1);
 
-    if (!account.getUser().getEmail().equals(email)) {
-      throw new ApiRequestException(HttpStatus.FORBIDDEN, "You are not authorized to access this account");
+    String nextCursor = null;
+    if (transactions.size() > pageSize) {
+      transactions = transactions.subList(0, pageSize);
+      nextCursor = encodeCursor(transactions.get(pageSize - 1));
     }
 
-    List<Transaction> transactions = transactionRepository.findByAccountId(accountId);
+    // the version was read first, so the page is never older than its ETag
+    return new TransactionPage(transactionMapper.toTransactionResponseList(transactions), nextCursor,
+        transactionListETag(accountVersion));
+  }
+
+  /*
+   * ETag of the account's transaction list (any page, any filter) for If-None-Match requests,
+   * without reading any transaction: every posting to the account, transfers in included,
+   * bumps the account version. Null when the account is missing or not the caller's.
+   */
+  public String getTransactionListETag(Long accountId, JwtPrincipal principal) {
+    Long version = accountService.getAccountVersion(accountId, principal);
 
-    return transactionMapper.toTransactionResponseList(transactions);
+    return version != null ? transactionListETag(version) : null;
   }
 
-  public TransactionResponse getTransactionById(Long accountId, Long transactionId, String token) {
+  private static String transactionListETag(long accountVersion) {
+    return "\"t" + accountVersion + "\"";
+  }
 
-    Account account = accountRepository.findById(accountId)
-        .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "Account not found"));
+  @Transactional(readOnly = true)
+  public TransactionResponse getTransactionById(Long accountId, Long transactionId, JwtPrincipal principal) {
 
-    String email = jwtTokenUtil.getUsernameFromToken(token);
+    Transaction transaction = transactionRepository
+        .findByIdAndAccountIdAndAccountUserId(transactionId, accountId, principal.getUserId())
+        .orElseThrow(() -> {
+          // failure path only: report a missing/foreign account before a missing transaction
+          accountAccessService.checkOwnership(accountId, principal.getUserId(),
+              "You are not authorized to access this account");
+          return new ApiRequestException(HttpStatus.NOT_FOUND, "Transaction not found");
+        });
 
-    if (!account.getUser().getEmail().equals(email)) {
-      throw new ApiRequestException(HttpStatus.FORBIDDEN, "You are not authorized to access this account");
-    }
+    return transactionMapper.toTransactionResponse(transaction);
+  }
 
-    Transaction transaction = transactionRepository.findById(transactionId)
-        .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "Transaction not found"));
+  private static String encodeCursor(Transaction last) {
+    String position = last.getCreatedAt() + "|" + last.getId();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+  }
 
-    if (!transaction.getAccount().getId().equals(accountId)) {
-      throw new ApiRequestException(HttpStatus.NOT_FOUND, "Transaction not found");
+  private static CursorPosition decodeCursor(String cursor) {
+    try {
+      String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = position.indexOf('|');
+      return new CursorPosition(LocalDateTime.parse(position.substring(0, separator)),
+          Long.valueOf(position.substring(separator + 1)));
+    } catch (RuntimeException ex) {
+      throw new ApiRequestException(HttpStatus.BAD_REQUEST, "Invalid cursor");
     }
+  }
 
-    return transactionMapper.toTransactionResponse(transaction);
+  // (createdAt, id) of the last transaction on the previous page
+  private record CursorPosition(LocalDateTime createdAt, Long id) {
   }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package dev.arsalaan.eagle_bank.service;
 
 import dev.arsalaan.eagle_bank.dto.LoginRequest;
+import dev.arsalaan.eagle_bank.dto.RefreshRequest;
 import dev.arsalaan.eagle_bank.dto.JwtResponse;
 import dev.arsalaan.eagle_bank.dto.RegisterRequest;
 import dev.arsalaan.eagle_bank.dto.UserRequest;
@@ -10,19 +11,27 @@ import dev.arsalaan.eagle_bank.mapper.UserMapper;
 import dev.arsalaan.eagle_bank.model.Account;
 import dev.arsalaan.eagle_bank.model.User;
 import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.RefreshTokenRepository;
 import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
 import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+import dev.arsalaan.eagle_bank.security.JwtUserDetails;
 
 import java.util.List;
 
+import io.micrometer.core.annotation.Timed;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+@Timed("app.service")
 @Service
 public class UserService {
 
@@ -32,6 +41,9 @@ public class UserService {
   private final PasswordEncoder passwordEncoder;
   private final AccountRepository accountRepository;
   private final UserMapper userMapper;
+  private final UserCache userCache;
+  private final RefreshTokenService refreshTokenService;
+  private final RefreshTokenRepository refreshTokenRepository;
 
   public UserService(
       AuthenticationManager authenticationManager,
@@ -39,45 +51,47 @@ public class UserService {
       UserRepository userRepository,
       PasswordEncoder passwordEncoder,
       AccountRepository accountRepository,
-      UserMapper userMapper) {
+      UserMapper userMapper,
+      UserCache userCache,
+      RefreshTokenService refreshTokenService,
+      RefreshTokenRepository refreshTokenRepository) {
     this.authenticationManager = authenticationManager;
     this.jwtTokenUtil = jwtTokenUtil;
     this.userRepository = userRepository;
     this.passwordEncoder = passwordEncoder;
     this.accountRepository = accountRepository;
     this.userMapper = userMapper;
+    this.userCache = userCache;
+    this.refreshTokenService = refreshTokenService;
+    this.refreshTokenRepository = refreshTokenRepository;
   }
 
-  public UserResponse getUserByToken(String token) {
-    String email = jwtTokenUtil.getUsernameFromToken(token);
-
-    User user = userRepository.findByEmail(email)
+  @Transactional(readOnly = true)
+  public UserResponse getCurrentUser(JwtPrincipal principal) {
+    User user = userRepository.findById(principal.getUserId())
         .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "User not found"));
 
     return userMapper.toUserResponse(user);
   }
 
-  public UserResponse getUserById(Long userId, String token) {
+  @Transactional(readOnly = true)
+  public UserResponse getUserById(Long userId, JwtPrincipal principal) {
 
     User user = userRepository.findById(userId)
         .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "User not found"));
 
-    String email = jwtTokenUtil.getUsernameFromToken(token);
-
-    if (!user.getEmail().equals(email)) {
+    if (!user.getId().equals(principal.getUserId())) {
       throw new ApiRequestException(HttpStatus.FORBIDDEN, "User not authorized to access this resource");
     }
 
     return userMapper.toUserResponse(user);
   }
 
-  public UserResponse updateUserById(Long userId, UserRequest updateUserRequest, String token) {
+  public UserResponse updateUserById(Long userId, UserRequest updateUserRequest, JwtPrincipal principal) {
     User existingUser = userRepository.findById(userId)
         .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "User not found"));
 
-    String email = jwtTokenUtil.getUsernameFromToken(token);
-
-    if (!existingUser.getEmail().equals(email)) {
+    if (!existingUser.getId().equals(principal.getUserId())) {
       throw new ApiRequestException(HttpStatus.FORBIDDEN, "User not authorized to access this resource");
     }
 
@@ -103,6 +117,9 @@ public class UserService {
 
     User updatedUser = userRepository.save(existingUser);
 
+    // drop the cached principal under the old email (the email itself may have changed)
+    userCache.removeUserFromCache(principal.getEmail());
+
     return userMapper.toUserResponse(updatedUser);
   }
 
@@ -112,10 +129,17 @@ public class UserService {
     SecurityContextHolder.getContext().setAuthentication(authentication);
 
     String accessToken = jwtTokenUtil.generateToken(authentication);
-    return new JwtResponse(authentication.getName(), accessToken);
+    String refreshToken = refreshTokenService.issue(((JwtUserDetails) authentication.getPrincipal()).getId());
+    return new JwtResponse(authentication.getName(), accessToken, refreshToken);
+  }
+
+  // renews the access token without re-authenticating (no password hashing)
+  public JwtResponse refresh(RefreshRequest refreshRequest) {
+    return refreshTokenService.refresh(refreshRequest.getRefreshToken());
   }
 
-  public void deleteUserById(Long userId, String token) {
+  @Transactional
+  public void deleteUserById(Long userId, JwtPrincipal principal) {
     User user = userRepository.findById(userId)
         .orElseThrow(() -> new ApiRequestException(HttpStatus.NOT_FOUND, "User not found"));
 
@@ -125,13 +149,13 @@ public class UserService {
       throw new ApiRequestException(HttpStatus.CONFLICT, "User has a bank account");
     }
 
-    String email = jwtTokenUtil.getUsernameFromToken(token);
-
-    if (!user.getEmail().equals(email)) {
+    if (!user.getId().equals(principal.getUserId())) {
       throw new ApiRequestException(HttpStatus.FORBIDDEN, "User not authorized to access this resource");
     }
 
+    refreshTokenRepository.deleteByUserId(userId);
     userRepository.delete(user);
+    userCache.removeUserFromCache(user.getEmail());
   }
 
   public void register(RegisterRequest registerRequest) {
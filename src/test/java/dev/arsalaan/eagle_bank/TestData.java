@@ -0,0 +1,48 @@
+package dev.arsalaan.eagle_bank;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+
+/*
+ * Shared fixtures for tests and benchmarks.
+ * user() and account() return builders with valid defaults (a unique email and account number),
+ * so each test only spells out the fields it cares about.
+ */
+public final class TestData {
+
+  // the JWT filter's users lookup on every authenticated request (when the user cache is disabled)
+  public static final long FILTER_USER_LOOKUP = 1;
+
+  private TestData() {
+  }
+
+  public static User.UserBuilder user() {
+    return User.builder()
+        .firstName("Test")
+        .lastName("User")
+        .email(UUID.randomUUID() + "@example.com")
+        .password("not-used")
+        .phoneNumber("+447700900000")
+        .dateOfBirth(LocalDate.of(1990, 1, 1));
+  }
+
+  public static Account.AccountBuilder account(User owner) {
+    return Account.builder()
+        .accountNumber(UUID.randomUUID().toString().substring(0, 12))
+        .accountName("Main")
+        .accountType("SAVINGS")
+        .balance(BigDecimal.ZERO)
+        .createdAt(LocalDateTime.now())
+        .user(owner);
+  }
+
+  public static String bearer(JwtTokenUtil jwtTokenUtil, User user) {
+    return "Bearer " + jwtTokenUtil.generateToken(user.getEmail(), user.getId());
+  }
+}
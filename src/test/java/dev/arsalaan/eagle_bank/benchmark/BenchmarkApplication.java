@@ -0,0 +1,76 @@
+package dev.arsalaan.eagle_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import dev.arsalaan.eagle_bank.EagleBankApplication;
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+
+/*
+ * Starts the application for a benchmark trial with the test configuration (H2 in
+ * PostgreSQL mode, a fresh database per start) on a random port, with logging turned down.
+ * Properties are passed as command-line arguments so they win over application.properties.
+ */
+final class BenchmarkApplication {
+
+  private BenchmarkApplication() {
+  }
+
+  static ConfigurableApplicationContext start(String... properties) {
+    return start(context -> {
+    }, properties);
+  }
+
+  // the initializer registers benchmark-only beans without putting them in the component scan
+  static ConfigurableApplicationContext start(ApplicationContextInitializer<ConfigurableApplicationContext> initializer,
+      String... properties) {
+    String[] args = Stream.concat(
+        Stream.of("server.port=0", "logging.level.root=WARN", "app.logging.access-log.enabled=false"),
+        Stream.of(properties))
+        .map(property -> "--" + property)
+        .toArray(String[]::new);
+
+    return new SpringApplicationBuilder(EagleBankApplication.class)
+        .initializers(initializer)
+        .run(args);
+  }
+
+  // one user owning the given number of accounts
+  static Fixture createAccounts(ApplicationContext context, int count, BigDecimal openingBalance) {
+    User user = context.getBean(UserRepository.class).save(TestData.user()
+        .firstName("Bench")
+        .build());
+
+    List<Account> accounts = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      accounts.add(TestData.account(user)
+          .accountName("Bench " + i)
+          .accountType("CHECKING")
+          .balance(openingBalance)
+          .build());
+    }
+    List<Long> accountIds = context.getBean(AccountRepository.class).saveAll(accounts).stream()
+        .map(Account::getId)
+        .toList();
+
+    JwtPrincipal principal = new JwtPrincipal(user.getEmail(), user.getId(), Instant.now().plus(1, ChronoUnit.DAYS));
+    return new Fixture(user, principal, accountIds);
+  }
+
+  record Fixture(User user, JwtPrincipal principal, List<Long> accountIds) {
+  }
+}
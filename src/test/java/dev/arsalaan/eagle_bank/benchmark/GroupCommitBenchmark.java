@@ -0,0 +1,80 @@
+package dev.arsalaan.eagle_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import dev.arsalaan.eagle_bank.dto.TransactionRequest;
+import dev.arsalaan.eagle_bank.dto.TransactionResponse;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.service.TransactionService;
+
+/*
+ * Committed postings per second from 16 threads spread over 1000 accounts. direct commits
+ * each posting on the request thread; sequencer batches only what is already queued per
+ * stripe; group-commit runs one writer that lingers 2ms to gather postings for every
+ * account into a single DB transaction.
+ *   mvn -Pbenchmark test -Djmh.args=GroupCommitBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+@Fork(1)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class GroupCommitBenchmark {
+
+  private static final int ACCOUNTS = 1000;
+
+  @Param({ "direct", "sequencer", "group-commit" })
+  public String mode;
+
+  private ConfigurableApplicationContext context;
+  private TransactionService transactionService;
+  private BenchmarkApplication.Fixture fixture;
+  private TransactionRequest deposit;
+
+  @Setup
+  public void setUp() {
+    context = switch (mode) {
+      case "direct" -> BenchmarkApplication.start("app.posting.sequencer.enabled=false");
+      case "sequencer" -> BenchmarkApplication.start("app.posting.sequencer.enabled=true");
+      case "group-commit" -> BenchmarkApplication.start("app.posting.sequencer.enabled=true",
+          "app.posting.sequencer.stripes=1", "app.posting.sequencer.linger-ms=2");
+      default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+    };
+    transactionService = context.getBean(TransactionService.class);
+    fixture = BenchmarkApplication.createAccounts(context, ACCOUNTS, BigDecimal.ZERO);
+
+    deposit = new TransactionRequest();
+    deposit.setTransactionType(TransactionType.DEPOSIT);
+    deposit.setAmount(BigDecimal.ONE);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public TransactionResponse post() {
+    Long accountId = fixture.accountIds().get(ThreadLocalRandom.current().nextInt(ACCOUNTS));
+    return transactionService.createTransaction(accountId, deposit, null, fixture.principal());
+  }
+}
@@ -0,0 +1,76 @@
+package dev.arsalaan.eagle_bank.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+import dev.arsalaan.eagle_bank.security.JwtSigningKeys;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+import dev.arsalaan.eagle_bank.security.VerifiedTokenCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/*
+ * Tokens verified per second. perRequestKeyAndParser is the original filter path:
+ * validateToken then getUsernameFromToken, each building a SecretKey and a JwtParser.
+ * sharedParser is JwtTokenUtil.verifyToken with the keys and parser built once (and the
+ * verified-token cache off, so every call checks the signature).
+ *   mvn -Pbenchmark test -Djmh.args=JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtVerificationBenchmark {
+
+  private static final String SECRET = "benchmark-secret-key-for-the-eagle-bank-jwt-benchmarks-at-least-64-bytes";
+
+  private JwtTokenUtil jwtTokenUtil;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(false, 0);
+    JwtSigningKeys signingKeys = new JwtSigningKeys(verifiedTokenCache);
+    ReflectionTestUtils.setField(signingKeys, "secret", SECRET);
+    ReflectionTestUtils.setField(signingKeys, "keyId", "default");
+    ReflectionTestUtils.setField(signingKeys, "previousSecrets", List.of());
+    ReflectionTestUtils.invokeMethod(signingKeys, "init");
+
+    jwtTokenUtil = new JwtTokenUtil(signingKeys, verifiedTokenCache);
+    ReflectionTestUtils.setField(jwtTokenUtil, "EXPIRATION_TIME", TimeUnit.HOURS.toMillis(1));
+    token = jwtTokenUtil.generateToken("user@example.com", 1L);
+  }
+
+  @Benchmark
+  public String perRequestKeyAndParser() {
+    Jwts.parserBuilder().setSigningKey(perCallKey()).build().parseClaimsJws(token);
+    return Jwts.parserBuilder().setSigningKey(perCallKey()).build().parseClaimsJws(token).getBody().getSubject();
+  }
+
+  @Benchmark
+  public JwtPrincipal sharedParser() {
+    return jwtTokenUtil.verifyToken(token);
+  }
+
+  private static SecretKey perCallKey() {
+    return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,140 @@
+package dev.arsalaan.eagle_bank.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+
+/*
+ * Log events per second from the caller's side, with the appender set up like
+ * logback-spring.xml: ECS JSON (the default) or the plain pattern ("plain-logs" profile),
+ * written by the caller (sync) or through the bounded AsyncAppender (queue 8192,
+ * neverBlock). Events go to a file instead of stdout to keep the JMH output readable.
+ * The async appender drops events when the queue is full, so the number of events
+ * that reached the file is printed after each iteration.
+ *   mvn -Pbenchmark test -Djmh.args=LoggingThroughputBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoggingThroughputBenchmark {
+
+  @Param({ "sync", "async" })
+  public String appender;
+
+  @Param({ "ecs", "plain" })
+  public String format;
+
+  private final AtomicLong logged = new AtomicLong();
+  private final AtomicLong written = new AtomicLong();
+
+  private LoggerContext loggerContext;
+  private File file;
+  private Logger logger;
+
+  @Setup
+  public void setUp() throws IOException {
+    loggerContext = new LoggerContext();
+    loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+    loggerContext.putObject(Environment.class.getName(), new StandardEnvironment());
+    file = File.createTempFile("logging-benchmark", ".log");
+
+    FileAppender<ILoggingEvent> fileAppender = new FileAppender<>() {
+      @Override
+      protected void subAppend(ILoggingEvent event) {
+        super.subAppend(event);
+        written.incrementAndGet();
+      }
+    };
+    fileAppender.setContext(loggerContext);
+    fileAppender.setFile(file.getPath());
+    fileAppender.setEncoder(encoder());
+    fileAppender.start();
+
+    logger = loggerContext.getLogger("access");
+    logger.setAdditive(false);
+    logger.addAppender(appender.equals("async") ? async(fileAppender) : fileAppender);
+  }
+
+  @Setup(Level.Iteration)
+  public void resetCounts() {
+    logged.set(0);
+    written.set(0);
+  }
+
+  @TearDown(Level.Iteration)
+  public void reportDropped() throws InterruptedException {
+    // let the async worker drain what is still queued
+    Thread.sleep(500);
+    System.out.printf("%n  written %d of %d events%n", written.get(), logged.get());
+  }
+
+  @TearDown
+  public void tearDown() {
+    loggerContext.stop();
+    file.delete();
+  }
+
+  @Benchmark
+  public void log() {
+    logged.incrementAndGet();
+    logger.info("{} {} {} {}ms", "GET", "/v1/accounts/42", 200, 3);
+  }
+
+  private Encoder<ILoggingEvent> encoder() {
+    if (format.equals("ecs")) {
+      StructuredLogEncoder encoder = new StructuredLogEncoder();
+      encoder.setContext(loggerContext);
+      encoder.setFormat("ecs");
+      encoder.start();
+      return encoder;
+    }
+    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(loggerContext);
+    encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+    encoder.start();
+    return encoder;
+  }
+
+  private Appender<ILoggingEvent> async(Appender<ILoggingEvent> delegate) {
+    AsyncAppender async = new AsyncAppender();
+    async.setContext(loggerContext);
+    async.setQueueSize(8192);
+    async.setDiscardingThreshold(0);
+    async.setNeverBlock(true);
+    async.setIncludeCallerData(false);
+    async.addAppender(delegate);
+    async.start();
+    return async;
+  }
+}
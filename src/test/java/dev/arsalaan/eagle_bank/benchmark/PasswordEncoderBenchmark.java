@@ -0,0 +1,50 @@
+package dev.arsalaan.eagle_bank.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/*
+ * Time per password check (one login) at each bcrypt cost, to pick
+ * app.security.password.bcrypt-strength against the login latency budget.
+ * Each +1 doubles the time.
+ *   mvn -Pbenchmark test -Djmh.args=PasswordEncoderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class PasswordEncoderBenchmark {
+
+  private static final String PASSWORD = "correct horse battery staple";
+
+  @Param({ "4", "8", "10", "12" })
+  public int strength;
+
+  private BCryptPasswordEncoder encoder;
+  private String hash;
+
+  @Setup
+  public void setUp() {
+    encoder = new BCryptPasswordEncoder(strength);
+    hash = encoder.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public boolean matches() {
+    return encoder.matches(PASSWORD, hash);
+  }
+}
@@ -0,0 +1,73 @@
+package dev.arsalaan.eagle_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import dev.arsalaan.eagle_bank.dto.TransactionRequest;
+import dev.arsalaan.eagle_bank.dto.TransactionResponse;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.service.TransactionService;
+
+/*
+ * Postings per second through TransactionService.createTransaction from 16 threads, with
+ * and without the posting sequencer, on one hot account or spread over 1000 cold ones.
+ *   mvn -Pbenchmark test -Djmh.args=PostingThroughputBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+@Fork(1)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class PostingThroughputBenchmark {
+
+  @Param({ "false", "true" })
+  public boolean sequencer;
+
+  @Param({ "1", "1000" })
+  public int accounts;
+
+  private ConfigurableApplicationContext context;
+  private TransactionService transactionService;
+  private BenchmarkApplication.Fixture fixture;
+  private TransactionRequest deposit;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkApplication.start("app.posting.sequencer.enabled=" + sequencer);
+    transactionService = context.getBean(TransactionService.class);
+    fixture = BenchmarkApplication.createAccounts(context, accounts, BigDecimal.ZERO);
+
+    deposit = new TransactionRequest();
+    deposit.setTransactionType(TransactionType.DEPOSIT);
+    deposit.setAmount(BigDecimal.ONE);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public TransactionResponse post() {
+    Long accountId = fixture.accountIds().get(ThreadLocalRandom.current().nextInt(accounts));
+    return transactionService.createTransaction(accountId, deposit, null, fixture.principal());
+  }
+}
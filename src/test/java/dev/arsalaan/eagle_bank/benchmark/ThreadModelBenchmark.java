@@ -0,0 +1,136 @@
+package dev.arsalaan.eagle_bank.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+ * Load test of the two thread models: 300 concurrent clients call GET /v1/accounts/{id}
+ * over HTTP, against Tomcat's platform-thread pool (200 threads) or virtual threads.
+ * Every request also blocks its thread for 2 s, standing in for a remote call made
+ * while serving it (the case virtual threads are for; DB-bound work is capped by the
+ * HikariCP pool in both models). JMH reports the latency percentiles (p0.99); the peak
+ * number of requests in progress on the server is printed after each iteration.
+ * Virtual threads need a Java 21 build and JVM:
+ *   JAVA_HOME=<jdk 21> mvn -Pjava21,benchmark test -Djmh.args=ThreadModelBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(300)
+@Fork(1)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class ThreadModelBenchmark {
+
+  private static final long REMOTE_CALL_MS = 2000;
+
+  @Param({ "platform", "virtual" })
+  public String threads;
+
+  private final RemoteCallFilter remoteCall = new RemoteCallFilter();
+
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private HttpRequest request;
+
+  @Setup
+  public void setUp() {
+    boolean virtual = threads.equals("virtual");
+    if (virtual && Runtime.version().feature() < 21) {
+      throw new IllegalStateException("Virtual threads need Java 21: run on a JDK 21 with -Pjava21");
+    }
+
+    context = BenchmarkApplication.start(
+        context -> ((GenericApplicationContext) context).registerBean("remoteCallFilter",
+            FilterRegistrationBean.class, () -> new FilterRegistrationBean<>(remoteCall)),
+        "spring.threads.virtual.enabled=" + virtual,
+        "server.tomcat.threads.max=200");
+    BenchmarkApplication.Fixture fixture = BenchmarkApplication.createAccounts(context, 1, BigDecimal.ZERO);
+    int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v1/accounts/"
+        + fixture.accountIds().get(0)))
+        .header("Authorization", TestData.bearer(context.getBean(JwtTokenUtil.class), fixture.user()))
+        .build();
+  }
+
+  @Setup(Level.Iteration)
+  public void resetPeak() {
+    remoteCall.peak.set(0);
+  }
+
+  @TearDown(Level.Iteration)
+  public void reportPeak() {
+    System.out.printf("%n  peak concurrent requests (%s threads): %d%n", threads, remoteCall.peak.get());
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public int getAccount() throws IOException, InterruptedException {
+    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("GET account returned " + response.statusCode());
+    }
+    return response.statusCode();
+  }
+
+  // a blocking remote call on the request thread, and a count of the requests in progress
+  static class RemoteCallFilter extends OncePerRequestFilter {
+
+    private final AtomicInteger inProgress = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+      peak.accumulateAndGet(inProgress.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(REMOTE_CALL_MS);
+        chain.doFilter(request, response);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new ServletException(ex);
+      } finally {
+        inProgress.decrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * Account views are served from the cache once loaded, and every write is visible on the next read.
+ */
+@SpringBootTest(properties = {
+    "app.security.user-cache.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true" })
+@AutoConfigureMockMvc
+class AccountCacheTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  private Statistics statistics;
+  private String authHeader;
+  private String otherAuthHeader;
+  private Account account;
+  private Account otherAccount;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    User user = newUser();
+    User otherUser = newUser();
+    account = newAccount(user, new BigDecimal("100.00"));
+    otherAccount = newAccount(otherUser, BigDecimal.ZERO);
+
+    authHeader = TestData.bearer(jwtTokenUtil, user);
+    otherAuthHeader = TestData.bearer(jwtTokenUtil, otherUser);
+  }
+
+  @Test
+  void repeatedReadsAreServedFromCache() throws Exception {
+    perform(get("/v1/accounts/{accountId}", account.getId()), authHeader).andExpect(status().isOk());
+    perform(get("/v1/accounts"), authHeader).andExpect(status().isOk());
+
+    statistics.clear();
+    perform(get("/v1/accounts/{accountId}", account.getId()), authHeader).andExpect(status().isOk());
+    perform(get("/v1/accounts"), authHeader)
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(account.getId()));
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2 * TestData.FILTER_USER_LOOKUP);
+  }
+
+  @Test
+  void cachedAccountIsNotServedToOtherUsers() throws Exception {
+    perform(get("/v1/accounts/{accountId}", account.getId()), authHeader).andExpect(status().isOk());
+
+    perform(get("/v1/accounts/{accountId}", account.getId()), otherAuthHeader).andExpect(status().isForbidden());
+  }
+
+  @Test
+  void postingsAndUpdatesAreVisibleImmediately() throws Exception {
+    perform(get("/v1/accounts"), authHeader).andExpect(status().isOk());
+    perform(get("/v1/accounts/{accountId}", otherAccount.getId()), otherAuthHeader).andExpect(status().isOk());
+
+    perform(post("/v1/accounts/{accountId}/transactions", account.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"transactionType\":\"DEPOSIT\",\"amount\":50.00}"), authHeader)
+        .andExpect(status().isCreated());
+    perform(get("/v1/accounts/{accountId}", account.getId()), authHeader)
+        .andExpect(jsonPath("$.balance").value(150.00));
+
+    perform(post("/v1/accounts/{accountId}/transfers", account.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"toAccountId\":" + otherAccount.getId() + ",\"amount\":30.00}"), authHeader)
+        .andExpect(status().isCreated());
+    perform(get("/v1/accounts"), authHeader)
+        .andExpect(jsonPath("$[0].balance").value(120.00));
+    perform(get("/v1/accounts/{accountId}", otherAccount.getId()), otherAuthHeader)
+        .andExpect(jsonPath("$.balance").value(30.00));
+
+    perform(patch("/v1/accounts/{accountId}", account.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"accountName\":\"Renamed\"}"), authHeader)
+        .andExpect(status().isOk());
+    perform(get("/v1/accounts"), authHeader)
+        .andExpect(jsonPath("$[0].accountName").value("Renamed"));
+
+    perform(post("/v1/accounts")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"accountName\":\"Second\",\"accountType\":\"CHECKING\"}"), authHeader)
+        .andExpect(status().isCreated());
+    perform(get("/v1/accounts"), authHeader)
+        .andExpect(jsonPath("$.length()").value(2));
+  }
+
+  private ResultActions perform(MockHttpServletRequestBuilder request, String auth) throws Exception {
+    return mockMvc.perform(request.header("Authorization", auth));
+  }
+
+  private User newUser() {
+    return userRepository.save(TestData.user().build());
+  }
+
+  private Account newAccount(User owner, BigDecimal balance) {
+    return accountRepository.save(TestData.account(owner)
+        .balance(balance)
+        .build());
+  }
+}
@@ -0,0 +1,107 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AccountEventsTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  private User user;
+  private String authHeader;
+  private Account account;
+
+  @BeforeEach
+  void setUp() {
+    user = newUser();
+    account = newAccount(user);
+    authHeader = TestData.bearer(jwtTokenUtil, user);
+  }
+
+  @Test
+  void streamsCommittedPostingsToTheAccount() throws Exception {
+    MockHttpServletResponse stream = mockMvc.perform(get("/v1/accounts/{accountId}/events", account.getId())
+        .header("Authorization", authHeader))
+        .andExpect(request().asyncStarted())
+        .andReturn().getResponse();
+
+    postTransaction("DEPOSIT", "10.00").andExpect(status().isCreated());
+    // rejected, so nothing is committed and nothing is sent
+    postTransaction("WITHDRAWAL", "500.00").andExpect(status().isUnprocessableEntity());
+    postTransaction("WITHDRAWAL", "5.00").andExpect(status().isCreated());
+
+    String events = awaitEvents(stream, 2);
+    assertThat(stream.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    assertThat(events).contains("\"balanceAfter\":110").contains("\"balanceAfter\":105");
+    assertThat(events).doesNotContain("500.00");
+  }
+
+  @Test
+  void cannotSubscribeToAnotherUsersAccount() throws Exception {
+    Account otherAccount = newAccount(newUser());
+
+    mockMvc.perform(get("/v1/accounts/{accountId}/events", otherAccount.getId())
+        .header("Authorization", authHeader))
+        .andExpect(status().isForbidden());
+  }
+
+  private String awaitEvents(MockHttpServletResponse stream, int count) throws Exception {
+    long deadline = System.nanoTime() + 10_000_000_000L;
+
+    while (true) {
+      String content = stream.getContentAsString();
+      if (content.split("event:transaction", -1).length - 1 >= count || System.nanoTime() > deadline) {
+        return content;
+      }
+      Thread.sleep(20);
+    }
+  }
+
+  private ResultActions postTransaction(String transactionType, String amount) throws Exception {
+    return mockMvc.perform(post("/v1/accounts/{accountId}/transactions", account.getId())
+        .header("Authorization", authHeader)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"transactionType\":\"" + transactionType + "\",\"amount\":" + amount + "}"));
+  }
+
+  private User newUser() {
+    return userRepository.save(TestData.user().build());
+  }
+
+  private Account newAccount(User owner) {
+    return accountRepository.save(TestData.account(owner)
+        .balance(new BigDecimal("100.00"))
+        .build());
+  }
+}
@@ -0,0 +1,120 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+
+/*
+ * HTTP contract of the /v1/accounts and /v1/accounts/{accountId}/transactions endpoints,
+ * exercised over a real port. Each runtime model (platform threads, virtual threads)
+ * runs the same suite through a subclass.
+ */
+abstract class AccountTransactionContract {
+
+  private static final ParameterizedTypeReference<Map<String, Object>> OBJECT = new ParameterizedTypeReference<>() {
+  };
+  private static final ParameterizedTypeReference<List<Map<String, Object>>> ARRAY = new ParameterizedTypeReference<>() {
+  };
+
+  @Autowired
+  private TestRestTemplate restTemplate;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  private HttpHeaders headers;
+
+  @BeforeEach
+  void setUp() {
+    User user = userRepository.save(TestData.user()
+        .firstName("Contract")
+        .build());
+
+    headers = new HttpHeaders();
+    headers.setBearerAuth(jwtTokenUtil.generateToken(user.getEmail(), user.getId()));
+    headers.setContentType(MediaType.APPLICATION_JSON);
+  }
+
+  @Test
+  void accountsContract() {
+    ResponseEntity<Map<String, Object>> created = exchange(HttpMethod.POST, "/v1/accounts",
+        "{\"accountName\":\"Main\",\"accountType\":\"SAVINGS\"}", OBJECT);
+
+    assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(created.getBody()).containsKeys("id", "accountNumber", "accountName", "accountType", "balance",
+        "createdAt");
+    Object accountId = created.getBody().get("id");
+
+    ResponseEntity<List<Map<String, Object>>> accounts = exchange(HttpMethod.GET, "/v1/accounts", null, ARRAY);
+    assertThat(accounts.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(accounts.getBody()).extracting(account -> account.get("id")).containsExactly(accountId);
+
+    ResponseEntity<Map<String, Object>> account = exchange(HttpMethod.GET, "/v1/accounts/" + accountId, null, OBJECT);
+    assertThat(account.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(account.getBody()).containsEntry("accountName", "Main");
+
+    assertThat(exchange(HttpMethod.GET, "/v1/accounts/" + Long.MAX_VALUE, null, OBJECT).getStatusCode())
+        .isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  @Test
+  void transactionsContract() {
+    Object accountId = exchange(HttpMethod.POST, "/v1/accounts", "{\"accountType\":\"CHECKING\"}", OBJECT)
+        .getBody().get("id");
+    String transactionsPath = "/v1/accounts/" + accountId + "/transactions";
+
+    ResponseEntity<Map<String, Object>> deposit = exchange(HttpMethod.POST, transactionsPath,
+        "{\"transactionType\":\"DEPOSIT\",\"amount\":100.00}", OBJECT);
+    assertThat(deposit.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(deposit.getBody()).containsKeys("id", "transactionType", "amount", "createdAt", "balanceAfter");
+
+    assertThat(exchange(HttpMethod.POST, transactionsPath, "{\"transactionType\":\"WITHDRAWAL\",\"amount\":30.00}",
+        OBJECT).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(exchange(HttpMethod.POST, transactionsPath, "{\"transactionType\":\"WITHDRAWAL\",\"amount\":500.00}",
+        OBJECT).getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+
+    ResponseEntity<List<Map<String, Object>>> firstPage = exchange(HttpMethod.GET, transactionsPath + "?limit=1",
+        null, ARRAY);
+    assertThat(firstPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(firstPage.getBody()).hasSize(1);
+    assertThat(firstPage.getBody().get(0)).containsEntry("transactionType", "WITHDRAWAL");
+    String cursor = firstPage.getHeaders().getFirst(TransactionController.NEXT_CURSOR_HEADER);
+    assertThat(cursor).isNotNull();
+
+    ResponseEntity<List<Map<String, Object>>> secondPage = exchange(HttpMethod.GET,
+        transactionsPath + "?limit=1&cursor=" + cursor, null, ARRAY);
+    assertThat(secondPage.getBody()).extracting(transaction -> transaction.get("id"))
+        .containsExactly(deposit.getBody().get("id"));
+    assertThat(secondPage.getHeaders().getFirst(TransactionController.NEXT_CURSOR_HEADER)).isNull();
+
+    ResponseEntity<Map<String, Object>> transaction = exchange(HttpMethod.GET,
+        transactionsPath + "/" + deposit.getBody().get("id"), null, OBJECT);
+    assertThat(transaction.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(new BigDecimal(transaction.getBody().get("balanceAfter").toString())).isEqualByComparingTo("100.00");
+  }
+
+  private <T> ResponseEntity<T> exchange(HttpMethod method, String path, String body,
+      ParameterizedTypeReference<T> type) {
+    return restTemplate.exchange(path, method, new HttpEntity<>(body, headers), type);
+  }
+}
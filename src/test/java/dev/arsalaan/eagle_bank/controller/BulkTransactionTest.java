@@ -0,0 +1,116 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkTransactionTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private TransactionRepository transactionRepository;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  private String authHeader;
+  private Account payroll;
+  private Account savings;
+  private Account foreign;
+
+  @BeforeEach
+  void setUp() {
+    User user = newUser();
+    payroll = newAccount(user, "500.00");
+    savings = newAccount(user, "0.00");
+    foreign = newAccount(newUser(), "0.00");
+
+    authHeader = TestData.bearer(jwtTokenUtil, user);
+  }
+
+  @Test
+  void bestEffortPostsValidItemsAndReportsFailures() throws Exception {
+    bulk("BEST_EFFORT",
+        item(payroll, "WITHDRAWAL", "200.00"),
+        item(savings, "DEPOSIT", "200.00"),
+        item(savings, "WITHDRAWAL", "500.00"),
+        item(foreign, "DEPOSIT", "1.00"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.posted").value(2))
+        .andExpect(jsonPath("$.rejected").value(2))
+        .andExpect(jsonPath("$.results[0].status").value(201))
+        .andExpect(jsonPath("$.results[1].transaction.balanceAfter").value(200.00))
+        .andExpect(jsonPath("$.results[2].status").value(422))
+        .andExpect(jsonPath("$.results[3].status").value(403));
+
+    assertThat(balance(payroll)).isEqualByComparingTo("300.00");
+    assertThat(balance(savings)).isEqualByComparingTo("200.00");
+    assertThat(transactionRepository.findByAccountId(foreign.getId())).isEmpty();
+  }
+
+  @Test
+  void allOrNothingRollsBackWhenAnyItemFails() throws Exception {
+    bulk("ALL_OR_NOTHING",
+        item(payroll, "WITHDRAWAL", "200.00"),
+        item(savings, "WITHDRAWAL", "1.00"))
+        .andExpect(status().isUnprocessableEntity())
+        .andExpect(jsonPath("$.posted").value(0))
+        .andExpect(jsonPath("$.results[0].status").value(424))
+        .andExpect(jsonPath("$.results[1].status").value(422));
+
+    assertThat(balance(payroll)).isEqualByComparingTo("500.00");
+    assertThat(transactionRepository.findByAccountId(payroll.getId())).isEmpty();
+  }
+
+  private ResultActions bulk(String mode, String... items) throws Exception {
+    return mockMvc.perform(post("/v1/transactions/bulk")
+        .header("Authorization", authHeader)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"mode\":\"" + mode + "\",\"transactions\":[" + String.join(",", items) + "]}"));
+  }
+
+  private static String item(Account account, String type, String amount) {
+    return "{\"accountId\":" + account.getId() + ",\"transactionType\":\"" + type + "\",\"amount\":" + amount + "}";
+  }
+
+  private BigDecimal balance(Account account) {
+    return accountRepository.findById(account.getId()).orElseThrow().getBalance();
+  }
+
+  private User newUser() {
+    return userRepository.save(TestData.user().build());
+  }
+
+  private Account newAccount(User user, String balance) {
+    return accountRepository.save(TestData.account(user)
+        .accountType("CHECKING")
+        .balance(new BigDecimal(balance))
+        .build());
+  }
+}
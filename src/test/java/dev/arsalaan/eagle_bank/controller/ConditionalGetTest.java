@@ -0,0 +1,137 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+    "app.security.user-cache.enabled=false",
+    "app.accounts.cache.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true" })
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  private Statistics statistics;
+  private String authHeader;
+  private Account account;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    User user = userRepository.save(TestData.user().build());
+    account = accountRepository.save(TestData.account(user)
+        .balance(new BigDecimal("100.00"))
+        .build());
+
+    authHeader = TestData.bearer(jwtTokenUtil, user);
+  }
+
+  @Test
+  void accountIsNotModifiedUntilPostedTo() throws Exception {
+    String accountPath = "/v1/accounts/" + account.getId();
+    String eTag = eTagOf(perform(get(accountPath)));
+
+    assertNotModified(get(accountPath), eTag);
+
+    deposit();
+
+    String newETag = eTagOf(perform(get(accountPath).header(HttpHeaders.IF_NONE_MATCH, eTag)));
+    assertThat(newETag).isNotEqualTo(eTag);
+    assertNotModified(get(accountPath), newETag);
+  }
+
+  @Test
+  void accountListChangesWithUpdatesAndNewAccounts() throws Exception {
+    String eTag = eTagOf(perform(get("/v1/accounts")));
+    assertNotModified(get("/v1/accounts"), eTag);
+
+    perform(patch("/v1/accounts/{accountId}", account.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"accountName\":\"Renamed\"}"))
+        .andExpect(status().isOk());
+    String renamedETag = eTagOf(perform(get("/v1/accounts").header(HttpHeaders.IF_NONE_MATCH, eTag)));
+    assertThat(renamedETag).isNotEqualTo(eTag);
+
+    perform(post("/v1/accounts")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"accountName\":\"Second\",\"accountType\":\"CHECKING\"}"))
+        .andExpect(status().isCreated());
+    assertThat(eTagOf(perform(get("/v1/accounts").header(HttpHeaders.IF_NONE_MATCH, renamedETag))))
+        .isNotEqualTo(renamedETag);
+  }
+
+  @Test
+  void transactionListNotModifiedCostsOneVersionQuery() throws Exception {
+    deposit();
+    String transactionsPath = "/v1/accounts/" + account.getId() + "/transactions";
+    String eTag = eTagOf(perform(get(transactionsPath)));
+
+    statistics.clear();
+    assertNotModified(get(transactionsPath), eTag);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(TestData.FILTER_USER_LOOKUP + 1);
+
+    deposit();
+    assertThat(eTagOf(perform(get(transactionsPath).header(HttpHeaders.IF_NONE_MATCH, eTag)))).isNotEqualTo(eTag);
+  }
+
+  private void deposit() throws Exception {
+    perform(post("/v1/accounts/{accountId}/transactions", account.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"transactionType\":\"DEPOSIT\",\"amount\":10.00}"))
+        .andExpect(status().isCreated());
+  }
+
+  private void assertNotModified(MockHttpServletRequestBuilder request, String eTag) throws Exception {
+    perform(request.header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  private String eTagOf(ResultActions result) throws Exception {
+    String eTag = result.andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    assertThat(eTag).isNotBlank();
+    return eTag;
+  }
+
+  private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+    return mockMvc.perform(request.header("Authorization", authHeader));
+  }
+}
@@ -0,0 +1,123 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyKeyTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ObjectMapper objectMapper;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private TransactionRepository transactionRepository;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  private String authHeader;
+  private Account account;
+
+  @BeforeEach
+  void setUp() {
+    User user = userRepository.save(TestData.user().build());
+    account = accountRepository.save(TestData.account(user).build());
+
+    authHeader = TestData.bearer(jwtTokenUtil, user);
+  }
+
+  @Test
+  void retryReturnsStoredResponseWithoutPostingAgain() throws Exception {
+    String key = UUID.randomUUID().toString();
+
+    long firstId = transactionId(deposit(key, "25.00").andExpect(status().isCreated()));
+    long retryId = transactionId(deposit(key, "25.00").andExpect(status().isCreated()));
+
+    assertThat(retryId).isEqualTo(firstId);
+    assertThat(transactionRepository.findByAccountId(account.getId())).hasSize(1);
+    assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance())
+        .isEqualByComparingTo("25.00");
+  }
+
+  @Test
+  void rejectsKeyReusedForDifferentRequest() throws Exception {
+    String key = UUID.randomUUID().toString();
+
+    deposit(key, "25.00").andExpect(status().isCreated());
+    deposit(key, "30.00").andExpect(status().isUnprocessableEntity());
+
+    assertThat(transactionRepository.findByAccountId(account.getId())).hasSize(1);
+  }
+
+  @Test
+  void concurrentRetriesPostOnce() throws Exception {
+    String key = UUID.randomUUID().toString();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Callable<Long>> requests = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      requests.add(() -> transactionId(deposit(key, "10.00").andExpect(status().isCreated())));
+    }
+
+    List<Future<Long>> results = executor.invokeAll(requests);
+    executor.shutdown();
+
+    Set<Long> ids = results.stream().map(future -> {
+      try {
+        return future.get();
+      } catch (Exception ex) {
+        throw new IllegalStateException(ex);
+      }
+    }).collect(Collectors.toSet());
+
+    assertThat(ids).hasSize(1);
+    assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance())
+        .isEqualByComparingTo("10.00");
+  }
+
+  private ResultActions deposit(String key, String amount) throws Exception {
+    return mockMvc.perform(post("/v1/accounts/{accountId}/transactions", account.getId())
+        .header("Authorization", authHeader)
+        .header(TransactionController.IDEMPOTENCY_KEY_HEADER, key)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"transactionType\":\"DEPOSIT\",\"amount\":" + amount + "}"));
+  }
+
+  private long transactionId(ResultActions result) throws Exception {
+    return objectMapper.readTree(result.andReturn().getResponse().getContentAsString()).get("id").asLong();
+  }
+}
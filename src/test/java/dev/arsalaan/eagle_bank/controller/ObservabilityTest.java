@@ -0,0 +1,107 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.sun.net.httpserver.HttpServer;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+
+/*
+ * Metrics are scrapeable and request spans reach an OTLP collector
+ * (a stub HTTP server standing in for a local collector). Every request is sampled, since
+ * the test properties replace the main file and the default probability is 0.1.
+ */
+@SpringBootTest(properties = { "management.tracing.enabled=true", "management.tracing.sampling.probability=1.0" })
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ObservabilityTest {
+
+  private static final CountDownLatch TRACES_RECEIVED = new CountDownLatch(1);
+  private static final HttpServer COLLECTOR = startCollector();
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  @DynamicPropertySource
+  static void collectorProperties(DynamicPropertyRegistry registry) {
+    registry.add("management.otlp.tracing.endpoint",
+        () -> "http://localhost:" + COLLECTOR.getAddress().getPort() + "/v1/traces");
+  }
+
+  @AfterAll
+  static void stopCollector() {
+    COLLECTOR.stop(0);
+  }
+
+  @Test
+  void hotPathMetricsAreScrapeable() throws Exception {
+    User user = userRepository.save(TestData.user().build());
+    String authHeader = TestData.bearer(jwtTokenUtil, user);
+
+    mockMvc.perform(get("/v1/accounts").header("Authorization", authHeader))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/v1/accounts/{accountId}", Long.MAX_VALUE).header("Authorization", authHeader))
+        .andExpect(status().isNotFound());
+
+    String scrape = mockMvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    assertThat(scrape)
+        .contains("auth_jwt_seconds_count{application=\"eagle-bank\",phase=\"verify\"")
+        .contains("auth_jwt_seconds_count{application=\"eagle-bank\",phase=\"user-load\"")
+        .contains("app_service_seconds_count")
+        .contains("method=\"getAllAccounts\"")
+        .contains("spring_data_repository_invocations_seconds_count")
+        .contains("hikaricp_connections_acquire_seconds_count")
+        .contains("api_errors_total{application=\"eagle-bank\",status=\"404\"}");
+  }
+
+  @Test
+  void requestSpansAreExported() throws Exception {
+    mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+
+    // spans are exported in batches every few seconds
+    assertThat(TRACES_RECEIVED.await(30, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private static HttpServer startCollector() {
+    try {
+      HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+      server.createContext("/v1/traces", exchange -> {
+        exchange.getRequestBody().readAllBytes();
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+        TRACES_RECEIVED.countDown();
+      });
+      server.start();
+      return server;
+    } catch (IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+
+/*
+ * Hashes stored before the {bcrypt} prefix, or with another cost, are replaced
+ * with one using the configured encoder on the next successful login.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PasswordRehashTest {
+
+  private static final String PASSWORD = "Password123!";
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserRepository userRepository;
+
+  @Test
+  void legacyHashIsUpgradedOnLogin() throws Exception {
+    String legacyHash = new BCryptPasswordEncoder(5).encode(PASSWORD);
+    User user = saveUser(legacyHash);
+
+    login(user.getEmail(), PASSWORD);
+
+    String storedHash = userRepository.findById(user.getId()).orElseThrow().getPassword();
+    assertThat(storedHash).startsWith("{bcrypt}$2a$04$");
+
+    // and the upgraded hash still works
+    login(user.getEmail(), PASSWORD);
+  }
+
+  @Test
+  void failedLoginLeavesHashUntouched() throws Exception {
+    String legacyHash = new BCryptPasswordEncoder(5).encode(PASSWORD);
+    User user = saveUser(legacyHash);
+
+    mockMvc.perform(post("/v1/users/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(loginJson(user.getEmail(), "wrong-password")))
+        .andExpect(result -> assertThat(result.getResponse().getStatus()).isNotEqualTo(200));
+
+    assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).isEqualTo(legacyHash);
+  }
+
+  private User saveUser(String passwordHash) {
+    return userRepository.save(TestData.user()
+        .password(passwordHash)
+        .build());
+  }
+
+  private void login(String email, String password) throws Exception {
+    mockMvc.perform(post("/v1/users/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(loginJson(email, password)))
+        .andExpect(status().isOk());
+  }
+
+  private static String loginJson(String email, String password) {
+    return "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+  }
+}
@@ -0,0 +1,7 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PlatformThreadsContractTest extends AccountTransactionContract {
+}
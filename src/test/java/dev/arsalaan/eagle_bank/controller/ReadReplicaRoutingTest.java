@@ -0,0 +1,165 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.datasource.ReplicaLagMonitor;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+
+/*
+ * Two H2 databases stand in for a primary and its replica; replicate() copies the primary
+ * over, so anything written after the last copy is only visible when reading the primary.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReadReplicaRoutingTest.PRIMARY_URL,
+    "app.datasource.replica.enabled=true",
+    "app.datasource.replica.url=" + ReadReplicaRoutingTest.REPLICA_URL,
+    "app.datasource.replica.lag-query=select coalesce(max(lag_seconds), 0) from replica_lag",
+    "app.datasource.replica.lag-check-interval=1h",
+    "app.security.user-cache.enabled=false" })
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+  static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+  static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  @Qualifier("primaryDataSource")
+  private DataSource primaryDataSource;
+  @Autowired
+  private ReplicaLagMonitor replicaLagMonitor;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private TransactionRepository transactionRepository;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+  private String authHeader;
+  private Account account;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    User user = userRepository.save(TestData.user().build());
+    account = accountRepository.save(TestData.account(user)
+        .balance(new BigDecimal("100.00"))
+        .build());
+
+    authHeader = TestData.bearer(jwtTokenUtil, user);
+    replicate(0);
+  }
+
+  @Test
+  void readsComeFromTheReplica() throws Exception {
+    writeTransactionOnPrimary();
+
+    listTransactions().andExpect(jsonPath("$.length()").value(0));
+
+    replicate(0);
+    listTransactions().andExpect(jsonPath("$.length()").value(1));
+  }
+
+  @Test
+  void usersReadTheirOwnPostingsFromThePrimary() throws Exception {
+    mockMvc.perform(post("/v1/accounts/{accountId}/transactions", account.getId())
+        .header("Authorization", authHeader)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"transactionType\":\"DEPOSIT\",\"amount\":10.00}"))
+        .andExpect(status().isCreated());
+
+    listTransactions().andExpect(jsonPath("$.length()").value(1));
+  }
+
+  @Test
+  void cachedAccountViewsAreReadFromThePrimary() throws Exception {
+    // written directly on the primary, not yet replicated
+    account.setBalance(new BigDecimal("250.00"));
+    accountRepository.save(account);
+
+    // the cache miss reads the primary, so the cached view is current
+    getAccount().andExpect(jsonPath("$.balance").value(250.00));
+    getAccount().andExpect(jsonPath("$.balance").value(250.00));
+  }
+
+  @Test
+  void laggingReplicaIsBypassed() throws Exception {
+    replicate(60);
+    writeTransactionOnPrimary();
+
+    listTransactions().andExpect(jsonPath("$.length()").value(1));
+  }
+
+  private ResultActions listTransactions() throws Exception {
+    return mockMvc.perform(get("/v1/accounts/{accountId}/transactions", account.getId())
+        .header("Authorization", authHeader))
+        .andExpect(status().isOk());
+  }
+
+  private ResultActions getAccount() throws Exception {
+    return mockMvc.perform(get("/v1/accounts/{accountId}", account.getId())
+        .header("Authorization", authHeader))
+        .andExpect(status().isOk());
+  }
+
+  // written directly, so it is not a write request of the user
+  private void writeTransactionOnPrimary() {
+    transactionRepository.save(Transaction.builder()
+        .transactionType(TransactionType.DEPOSIT)
+        .amount(new BigDecimal("10.00"))
+        .balanceAfter(new BigDecimal("110.00"))
+        .createdAt(LocalDateTime.now())
+        .account(account)
+        .build());
+  }
+
+  // copies the primary to the replica, which then reports the given lag
+  private void replicate(double lagSeconds) throws Exception {
+    Path script = Files.createTempFile("replica", ".sql");
+    try {
+      new JdbcTemplate(primaryDataSource).execute("SCRIPT TO '" + script + "'");
+      replica.execute("DROP ALL OBJECTS");
+      replica.execute("RUNSCRIPT FROM '" + script + "'");
+    } finally {
+      Files.deleteIfExists(script);
+    }
+
+    replica.execute("CREATE TABLE replica_lag (lag_seconds DOUBLE PRECISION)");
+    replica.update("INSERT INTO replica_lag VALUES (?)", lagSeconds);
+    replicaLagMonitor.check();
+  }
+}
@@ -0,0 +1,98 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RefreshTokenTest {
+
+  private static final String PASSWORD = "Password123!";
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ObjectMapper objectMapper;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private PasswordEncoder passwordEncoder;
+
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    user = userRepository.save(TestData.user()
+        .password(passwordEncoder.encode(PASSWORD))
+        .build());
+  }
+
+  @Test
+  void refreshRotatesTokenAndIssuesWorkingAccessToken() throws Exception {
+    JsonNode login = login();
+
+    JsonNode refreshed = read(refresh(login.get("refreshToken").asText()).andExpect(status().isOk()));
+
+    assertThat(refreshed.get("email").asText()).isEqualTo(user.getEmail());
+    assertThat(refreshed.get("refreshToken").asText()).isNotEqualTo(login.get("refreshToken").asText());
+
+    mockMvc.perform(get("/v1/users/me").header("Authorization", "Bearer " + refreshed.get("accessToken").asText()))
+        .andExpect(status().isOk());
+
+    // the successor can be used in turn
+    refresh(refreshed.get("refreshToken").asText()).andExpect(status().isOk());
+  }
+
+  @Test
+  void reusedTokenRevokesItsFamily() throws Exception {
+    JsonNode login = login();
+    JsonNode refreshed = read(refresh(login.get("refreshToken").asText()).andExpect(status().isOk()));
+
+    refresh(login.get("refreshToken").asText()).andExpect(status().isUnauthorized());
+
+    // the legitimate successor is revoked as well
+    refresh(refreshed.get("refreshToken").asText()).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void unknownTokenIsRejected() throws Exception {
+    refresh("not-a-token").andExpect(status().isUnauthorized());
+  }
+
+  private JsonNode login() throws Exception {
+    return read(mockMvc.perform(post("/v1/users/login")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"email\":\"" + user.getEmail() + "\",\"password\":\"" + PASSWORD + "\"}"))
+        .andExpect(status().isOk()));
+  }
+
+  private ResultActions refresh(String refreshToken) throws Exception {
+    return mockMvc.perform(post("/v1/users/refresh")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"refreshToken\":\"" + refreshToken + "\"}"));
+  }
+
+  private JsonNode read(ResultActions result) throws Exception {
+    return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+  }
+}
@@ -0,0 +1,180 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+
+/*
+ * Guards the number of SQL statements each endpoint issues.
+ * The user cache is disabled so every request pays exactly one users lookup in the JWT filter.
+ * Sequence calls are not counted: when a pooled id block runs out depends on what ran before.
+ */
+@SpringBootTest(properties = "app.security.user-cache.enabled=false")
+@AutoConfigureMockMvc
+class SqlStatementCountTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private StatementCounter statementCounter;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private TransactionRepository transactionRepository;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  private String authHeader;
+  private User user;
+  private Account account;
+  private Transaction transaction;
+
+  @BeforeEach
+  void setUp() {
+    user = userRepository.save(TestData.user().build());
+    account = accountRepository.save(newAccount(new BigDecimal("100.00")));
+    transaction = transactionRepository.save(Transaction.builder()
+        .transactionType(TransactionType.DEPOSIT)
+        .amount(new BigDecimal("100.00"))
+        .createdAt(LocalDateTime.now())
+        .account(account)
+        .build());
+
+    authHeader = TestData.bearer(jwtTokenUtil, user);
+  }
+
+  @Test
+  void getAllAccounts() throws Exception {
+    assertStatementCount(1, get("/v1/accounts"));
+  }
+
+  @Test
+  void getAccountById() throws Exception {
+    assertStatementCount(1, get("/v1/accounts/{accountId}", account.getId()));
+  }
+
+  @Test
+  void updateAccountById() throws Exception {
+    assertStatementCount(2, patch("/v1/accounts/{accountId}", account.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"accountName\":\"Renamed\"}"));
+  }
+
+  @Test
+  void deleteAccountById() throws Exception {
+    Account emptyAccount = accountRepository.save(newAccount(BigDecimal.ZERO));
+
+    assertStatementCount(2, delete("/v1/accounts/{accountId}", emptyAccount.getId()));
+  }
+
+  @Test
+  void getAllTransactionsByAccountId() throws Exception {
+    assertStatementCount(2, get("/v1/accounts/{accountId}/transactions", account.getId()));
+  }
+
+  @Test
+  void getTransactionById() throws Exception {
+    assertStatementCount(1, get("/v1/accounts/{accountId}/transactions/{transactionId}",
+        account.getId(), transaction.getId()));
+  }
+
+  @Test
+  void createTransaction() throws Exception {
+    // ownership check, conditional balance UPDATE, balance and version read-back, ledger INSERT
+    assertStatementCount(4, post("/v1/accounts/{accountId}/transactions", account.getId())
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"transactionType\":\"WITHDRAWAL\",\"amount\":10.00}"));
+  }
+
+  @Test
+  void getCurrentUser() throws Exception {
+    assertStatementCount(1, get("/v1/users/me"));
+  }
+
+  private Account newAccount(BigDecimal balance) {
+    return TestData.account(user)
+        .balance(balance)
+        .build();
+  }
+
+  private void assertStatementCount(long expected, MockHttpServletRequestBuilder request) throws Exception {
+    statementCounter.reset();
+
+    mockMvc.perform(request.header("Authorization", authHeader))
+        .andExpect(status().is2xxSuccessful());
+
+    assertThat(statementCounter.get()).isEqualTo(TestData.FILTER_USER_LOOKUP + expected);
+  }
+
+  // counts the statements Hibernate prepares, leaving out sequence calls
+  static class StatementCounter implements StatementInspector {
+
+    private static final Pattern SEQUENCE_CALL = Pattern.compile("(?i)next value for|nextval\\(");
+
+    private final AtomicLong count = new AtomicLong();
+
+    @Override
+    public String inspect(String sql) {
+      if (!SEQUENCE_CALL.matcher(sql).find()) {
+        count.incrementAndGet();
+      }
+      return sql;
+    }
+
+    void reset() {
+      count.set(0);
+    }
+
+    long get() {
+      return count.get();
+    }
+  }
+
+  @TestConfiguration
+  static class StatementCounterConfig {
+
+    @Bean
+    StatementCounter statementCounter() {
+      return new StatementCounter();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+      return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+
+@SpringBootTest(properties = "app.transactions.export.fetch-size=2")
+@AutoConfigureMockMvc
+class TransactionExportTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+  private static final int TRANSACTIONS = 5;
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private TransactionRepository transactionRepository;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  private String authHeader;
+  private Account account;
+
+  @BeforeEach
+  void setUp() {
+    User user = userRepository.save(TestData.user().build());
+    account = accountRepository.save(TestData.account(user)
+        .createdAt(START)
+        .build());
+
+    for (int i = 0; i < TRANSACTIONS; i++) {
+      transactionRepository.save(Transaction.builder()
+          .transactionType(TransactionType.DEPOSIT)
+          .amount(new BigDecimal("12.50"))
+          .createdAt(START.plusMinutes(i))
+          .account(account)
+          .build());
+    }
+
+    authHeader = TestData.bearer(jwtTokenUtil, user);
+  }
+
+  @Test
+  void streamsEveryRowAsCsv() throws Exception {
+    String body = export("csv");
+    String[] lines = body.split("\n");
+
+    assertThat(lines).hasSize(TRANSACTIONS + 1);
+    assertThat(lines[0]).isEqualTo("id,transactionType,amount,createdAt,balanceAfter");
+    assertThat(lines[1]).contains(",DEPOSIT,12.50," + START + ",");
+  }
+
+  @Test
+  void streamsEveryRowAsNdjson() throws Exception {
+    String body = export("ndjson");
+
+    assertThat(body.split("\n")).hasSize(TRANSACTIONS)
+        .allSatisfy(line -> assertThat(line).startsWith("{").contains("\"transactionType\":\"DEPOSIT\""));
+  }
+
+  @Test
+  void rejectsUnknownFormat() throws Exception {
+    mockMvc.perform(get("/v1/accounts/{accountId}/transactions/export", account.getId())
+        .param("format", "xml")
+        .header("Authorization", authHeader))
+        .andExpect(status().isBadRequest());
+  }
+
+  private String export(String format) throws Exception {
+    MvcResult started = mockMvc.perform(get("/v1/accounts/{accountId}/transactions/export", account.getId())
+        .param("format", format)
+        .header("Authorization", authHeader))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    return mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+  }
+}
@@ -0,0 +1,126 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionPaginationTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private ObjectMapper objectMapper;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private TransactionRepository transactionRepository;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  private String authHeader;
+  private Account account;
+  private List<Long> newestFirst;
+
+  @BeforeEach
+  void setUp() {
+    User user = userRepository.save(TestData.user().build());
+    account = accountRepository.save(TestData.account(user)
+        .createdAt(START)
+        .build());
+
+    // two transactions share a timestamp so the id tie-breaker is exercised
+    newestFirst = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      Transaction transaction = transactionRepository.save(Transaction.builder()
+          .transactionType(i % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL)
+          .amount(BigDecimal.TEN)
+          .createdAt(START.plusHours(Math.min(i, 5)))
+          .account(account)
+          .build());
+      newestFirst.add(0, transaction.getId());
+    }
+
+    authHeader = TestData.bearer(jwtTokenUtil, user);
+  }
+
+  @Test
+  void walksAllPagesInOrderWithoutGapsOrDuplicates() throws Exception {
+    List<Long> seen = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+
+    do {
+      var request = get("/v1/accounts/{accountId}/transactions", account.getId()).param("limit", "3");
+      if (cursor != null) {
+        request.param("cursor", cursor);
+      }
+      MvcResult result = mockMvc.perform(request.header("Authorization", authHeader))
+          .andExpect(status().isOk())
+          .andReturn();
+
+      for (JsonNode transaction : objectMapper.readTree(result.getResponse().getContentAsString())) {
+        seen.add(transaction.get("id").asLong());
+      }
+      cursor = result.getResponse().getHeader(TransactionController.NEXT_CURSOR_HEADER);
+      pages++;
+    } while (cursor != null);
+
+    assertThat(pages).isEqualTo(3);
+    assertThat(seen).isEqualTo(newestFirst);
+  }
+
+  @Test
+  void appliesTypeAndDateFilters() throws Exception {
+    MvcResult result = mockMvc.perform(get("/v1/accounts/{accountId}/transactions", account.getId())
+        .param("type", "DEPOSIT")
+        .param("from", START.plusHours(1).toString())
+        .param("to", START.plusHours(5).toString())
+        .header("Authorization", authHeader))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    JsonNode transactions = objectMapper.readTree(result.getResponse().getContentAsString());
+    assertThat(transactions).hasSize(2); // the DEPOSITs at START + 2h and + 4h fall in [1h, 5h)
+    assertThat(result.getResponse().getHeader(TransactionController.NEXT_CURSOR_HEADER)).isNull();
+  }
+
+  @Test
+  void rejectsInvalidCursor() throws Exception {
+    mockMvc.perform(get("/v1/accounts/{accountId}/transactions", account.getId())
+        .param("cursor", "not-a-cursor")
+        .header("Authorization", authHeader))
+        .andExpect(status().isBadRequest());
+  }
+}
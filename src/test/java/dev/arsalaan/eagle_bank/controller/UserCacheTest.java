@@ -0,0 +1,108 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+import dev.arsalaan.eagle_bank.security.JwtTokenUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * The authenticated-user cache saves the JWT filter's users SELECT, and user updates and
+ * deletes evict the cached principal.
+ */
+@SpringBootTest(properties = "app.security.user-cache.enabled=true")
+@AutoConfigureMockMvc
+@Import(SqlStatementCountTest.StatementCounterConfig.class)
+class UserCacheTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+  @Autowired
+  private SqlStatementCountTest.StatementCounter statementCounter;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private UserCache userCache;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private User user;
+  private String authHeader;
+
+  @BeforeEach
+  void setUp() {
+    user = userRepository.save(TestData.user().build());
+    authHeader = TestData.bearer(jwtTokenUtil, user);
+  }
+
+  @Test
+  void cacheHitSkipsUsersLookup() throws Exception {
+    double hitsBefore = userCacheGets("hit");
+
+    // filter users lookup + the service's users SELECT
+    assertThat(statements(get("/v1/users/me"))).isEqualTo(2);
+    // the filter is served from the cache
+    assertThat(statements(get("/v1/users/me"))).isEqualTo(1);
+
+    assertThat(userCacheGets("hit")).isEqualTo(hitsBefore + 1);
+  }
+
+  @Test
+  void updateEvictsCachedUser() throws Exception {
+    statements(get("/v1/users/me"));
+    assertThat(userCache.getUserFromCache(user.getEmail())).isNotNull();
+
+    mockMvc.perform(patch("/v1/users/{userId}", user.getId())
+        .header("Authorization", authHeader)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"firstName\":\"Renamed\",\"lastName\":\"User\"}"))
+        .andExpect(status().isOk());
+
+    assertThat(userCache.getUserFromCache(user.getEmail())).isNull();
+    assertThat(statements(get("/v1/users/me"))).isEqualTo(2);
+  }
+
+  @Test
+  void deleteEvictsCachedUser() throws Exception {
+    statements(get("/v1/users/me"));
+    assertThat(userCache.getUserFromCache(user.getEmail())).isNotNull();
+
+    mockMvc.perform(delete("/v1/users/{userId}", user.getId()).header("Authorization", authHeader))
+        .andExpect(status().isNoContent());
+
+    assertThat(userCache.getUserFromCache(user.getEmail())).isNull();
+  }
+
+  private long statements(MockHttpServletRequestBuilder request) throws Exception {
+    statementCounter.reset();
+
+    mockMvc.perform(request.header("Authorization", authHeader))
+        .andExpect(status().isOk());
+
+    return statementCounter.get();
+  }
+
+  private double userCacheGets(String result) {
+    return meterRegistry.get("cache.gets").tag("cache", "users").tag("result", result).functionCounter().count();
+  }
+}
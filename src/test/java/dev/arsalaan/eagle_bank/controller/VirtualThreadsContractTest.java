@@ -0,0 +1,13 @@
+package dev.arsalaan.eagle_bank.controller;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// same contract with request handling on virtual threads (the "virtual-threads" profile needs Java 21+)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual-threads")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsContractTest extends AccountTransactionContract {
+}
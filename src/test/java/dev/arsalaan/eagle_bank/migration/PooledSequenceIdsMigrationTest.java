@@ -0,0 +1,63 @@
+package dev.arsalaan.eagle_bank.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+// runs the migration against a database laid out the way IDENTITY ids left it
+class PooledSequenceIdsMigrationTest {
+
+  private DriverManagerDataSource dataSource;
+  private JdbcTemplate jdbc;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    jdbc = new JdbcTemplate(dataSource);
+  }
+
+  @Test
+  void movesSequencesPastExistingIds() {
+    jdbc.execute("create table accounts (id bigint generated by default as identity primary key)");
+    jdbc.execute("insert into accounts (id) select x from system_range(1, 120)");
+
+    migrate();
+
+    // the pooled optimizer's first block is nextval - 49 .. nextval
+    assertThat(nextBlockStart("accounts_seq")).isGreaterThan(120);
+    // no transactions table yet: the sequence is only created, starting at 1
+    assertThat(jdbc.queryForObject("select nextval('transactions_seq')", Long.class)).isEqualTo(1L);
+  }
+
+  @Test
+  void leavesSequencesThatAreAlreadyAheadAlone() {
+    jdbc.execute("create table transactions (id bigint primary key)");
+    jdbc.execute("insert into transactions (id) values (10)");
+    jdbc.execute("create sequence transactions_seq start with 5000 increment by 50");
+
+    migrate();
+
+    assertThat(nextBlockStart("transactions_seq")).isGreaterThan(5000);
+  }
+
+  private void migrate() {
+    Flyway.configure()
+        .dataSource(dataSource)
+        // as configured in application.properties
+        .baselineOnMigrate(true)
+        .baselineVersion("0")
+        .javaMigrations(new V1__PooledSequenceIds())
+        .load()
+        .migrate();
+  }
+
+  private long nextBlockStart(String sequence) {
+    return jdbc.queryForObject("select nextval('" + sequence + "')", Long.class) - V1__PooledSequenceIds.ALLOCATION_SIZE + 1;
+  }
+}
@@ -0,0 +1,91 @@
+package dev.arsalaan.eagle_bank.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import io.jsonwebtoken.security.SignatureException;
+
+@SpringBootTest
+class JwtKeyFileSourceTest {
+
+  private static final String SECRET_1 = "first-rotation-secret-for-the-eagle-bank-tests-at-least-64-bytes-long";
+  private static final String SECRET_2 = "second-rotation-secret-for-the-eagle-bank-tests-at-least-64-bytes-long";
+
+  private static final Path KEYS_FILE = createKeysFile();
+
+  @Autowired
+  private JwtKeyFileSource keyFileSource;
+  @Autowired
+  private JwtSigningKeys signingKeys;
+  @Autowired
+  private JwtTokenUtil jwtTokenUtil;
+
+  @DynamicPropertySource
+  static void keysFile(DynamicPropertyRegistry registry) {
+    registry.add("app.jwt.keys-file", KEYS_FILE::toString);
+    // only the explicit refresh() calls below
+    registry.add("app.jwt.keys-refresh-interval", () -> "1h");
+  }
+
+  @Test
+  void keyFileChangesRotateAndRetireKeys() throws IOException {
+    writeKeys("active=k1\nkeys.k1=" + SECRET_1);
+    keyFileSource.refresh();
+
+    assertThat(signingKeys.getKeyIds()).containsExactly("k1");
+    String oldToken = jwtTokenUtil.generateToken("rotation@example.com", 1L);
+
+    writeKeys("active=k2\nkeys.k1=" + SECRET_1 + "\nkeys.k2=" + SECRET_2);
+    keyFileSource.refresh();
+
+    assertThat(signingKeys.getActiveKey().id()).isEqualTo("k2");
+    String newToken = jwtTokenUtil.generateToken("rotation@example.com", 1L);
+    assertThat(jwtTokenUtil.verifyToken(oldToken).getEmail()).isEqualTo("rotation@example.com");
+    assertThat(jwtTokenUtil.verifyToken(newToken).getEmail()).isEqualTo("rotation@example.com");
+
+    writeKeys("active=k2\nkeys.k2=" + SECRET_2);
+    keyFileSource.refresh();
+
+    assertThat(signingKeys.getKeyIds()).containsExactly("k2");
+    assertThatThrownBy(() -> jwtTokenUtil.verifyToken(oldToken)).isInstanceOf(SignatureException.class);
+    assertThat(jwtTokenUtil.verifyToken(newToken).getEmail()).isEqualTo("rotation@example.com");
+  }
+
+  @Test
+  void invalidKeyFileKeepsCurrentKeys() throws IOException {
+    writeKeys("active=k3\nkeys.k3=" + SECRET_1);
+    keyFileSource.refresh();
+
+    // no secret for the active id
+    writeKeys("active=k4\nkeys.k3=" + SECRET_1);
+    keyFileSource.refresh();
+
+    assertThat(signingKeys.getActiveKey().id()).isEqualTo("k3");
+    assertThat(signingKeys.getKeyIds()).containsExactly("k3");
+  }
+
+  private static void writeKeys(String content) throws IOException {
+    Files.writeString(KEYS_FILE, content);
+  }
+
+  private static Path createKeysFile() {
+    try {
+      Path file = Files.createTempFile("jwt-keys", ".properties");
+      file.toFile().deleteOnExit();
+      return file;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package dev.arsalaan.eagle_bank.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import dev.arsalaan.eagle_bank.config.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedTokenCacheTest {
+
+  private final AtomicInteger verifications = new AtomicInteger();
+
+  @Test
+  void hitSkipsSignatureVerification() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+
+    JwtPrincipal first = cache.get("token", verifier(Instant.now().plus(1, ChronoUnit.HOURS)));
+    JwtPrincipal second = cache.get("token", verifier(Instant.now().plus(1, ChronoUnit.HOURS)));
+
+    assertThat(second).isSameAs(first);
+    assertThat(verifications).hasValue(1);
+    assertThat(cache.stats().hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void entryExpiresAtTokenExpiry() throws InterruptedException {
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+
+    cache.get("token", verifier(Instant.now().plusMillis(200)));
+    cache.get("token", verifier(Instant.now().plusMillis(200)));
+    assertThat(verifications).hasValue(1);
+
+    Thread.sleep(500);
+
+    // an expired token is never served from the cache, so the verifier sees it (and rejects it)
+    cache.get("token", verifier(Instant.now().plusMillis(200)));
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  void alreadyExpiredTokenIsNotCached() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+
+    cache.get("token", verifier(Instant.now().minusSeconds(1)));
+    cache.get("token", verifier(Instant.now().minusSeconds(1)));
+
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  void sizeIsBounded() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 10);
+
+    for (int i = 0; i < 1000; i++) {
+      cache.get("token-" + i, verifier(Instant.now().plus(1, ChronoUnit.HOURS)));
+    }
+    cache.getCache().cleanUp();
+
+    assertThat(cache.getCache().estimatedSize()).isLessThanOrEqualTo(10);
+  }
+
+  @Test
+  void disabledCacheVerifiesEveryTime() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(false, 100);
+
+    cache.get("token", verifier(Instant.now().plus(1, ChronoUnit.HOURS)));
+    cache.get("token", verifier(Instant.now().plus(1, ChronoUnit.HOURS)));
+
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  void hitsAndMissesAreExportedAsCacheMetrics() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+    MeterRegistry registry = new SimpleMeterRegistry();
+    new MetricsConfig().verifiedTokenCacheMetrics(cache).bindTo(registry);
+
+    cache.get("token", verifier(Instant.now().plus(1, ChronoUnit.HOURS)));
+    cache.get("token", verifier(Instant.now().plus(1, ChronoUnit.HOURS)));
+    cache.get("token", verifier(Instant.now().plus(1, ChronoUnit.HOURS)));
+
+    assertThat(gets(registry, "hit")).isEqualTo(2);
+    assertThat(gets(registry, "miss")).isEqualTo(1);
+  }
+
+  private Function<String, JwtPrincipal> verifier(Instant expiresAt) {
+    return token -> {
+      verifications.incrementAndGet();
+      return new JwtPrincipal("user@example.com", 1L, expiresAt);
+    };
+  }
+
+  private static double gets(MeterRegistry registry, String result) {
+    return registry.get("cache.gets").tag("cache", "jwt-tokens").tag("result", result).functionCounter().count();
+  }
+}
@@ -0,0 +1,144 @@
+package dev.arsalaan.eagle_bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.mapper.TransactionMapperImpl;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.security.JwtPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// a client that stops reading must not hold up the streams of other subscribers
+class AccountEventBusTest {
+
+  private static final Long ACCOUNT_ID = 1L;
+
+  private final CountDownLatch writing = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final CountDownLatch stalledClosed = new CountDownLatch(1);
+  private final List<SseEmitter.SseEventBuilder> delivered = new CopyOnWriteArrayList<>();
+  private final Deque<SseEmitter> emitters = new ArrayDeque<>();
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  // one sender thread, so a stalled write would block every other stream
+  private final AccountEventBus eventBus = new AccountEventBus(mock(AccountAccessService.class),
+      new TransactionMapperImpl(), new ObjectMapper().findAndRegisterModules(), meterRegistry,
+      32, 100, Duration.ofMinutes(30), 1, Duration.ofMillis(100)) {
+    @Override
+    SseEmitter newEmitter(long timeoutMillis) {
+      return emitters.removeFirst();
+    }
+  };
+
+  private final JwtPrincipal principal = new JwtPrincipal("user@example.com", 1L, Instant.now().plusSeconds(3600));
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    eventBus.stop();
+  }
+
+  @Test
+  void stalledWriteDropsOnlyItsOwnSubscriber() throws Exception {
+    emitters.add(new StalledEmitter());
+    emitters.add(new RecordingEmitter());
+    eventBus.subscribe(ACCOUNT_ID, principal);
+    eventBus.subscribe(ACCOUNT_ID, principal);
+
+    eventBus.onTransactionPosted(posted(1L));
+    assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+    Thread.sleep(200);
+    eventBus.dropStalledSubscribers();
+
+    assertThat(eventBus.getSubscriberCount()).isEqualTo(1);
+    assertThat(meterRegistry.get("events.subscribers.dropped").counter().count()).isEqualTo(1);
+
+    eventBus.onTransactionPosted(posted(2L));
+    awaitDelivered(2);
+    assertThat(delivered).hasSize(2);
+
+    // the stream is closed once the blocked write returns
+    release.countDown();
+    assertThat(stalledClosed.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void subscribersWithNoWriteInProgressAreNotDropped() throws Exception {
+    emitters.add(new RecordingEmitter());
+    eventBus.subscribe(ACCOUNT_ID, principal);
+
+    eventBus.onTransactionPosted(posted(1L));
+    awaitDelivered(1);
+    Thread.sleep(200);
+    eventBus.dropStalledSubscribers();
+
+    assertThat(eventBus.getSubscriberCount()).isEqualTo(1);
+  }
+
+  private void awaitDelivered(int count) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (delivered.size() < count && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static TransactionPostedEvent posted(Long transactionId) {
+    return new TransactionPostedEvent(ACCOUNT_ID, transactionId, Transaction.builder()
+        .id(transactionId)
+        .transactionType(TransactionType.DEPOSIT)
+        .amount(new BigDecimal("10.00"))
+        .balanceAfter(new BigDecimal("10.00"))
+        .createdAt(LocalDateTime.now())
+        .build());
+  }
+
+  private class RecordingEmitter extends SseEmitter {
+
+    @Override
+    public void send(SseEventBuilder builder) {
+      delivered.add(builder);
+    }
+  }
+
+  // a client whose socket is full: the first write blocks until released
+  private class StalledEmitter extends SseEmitter {
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      writing.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IOException(ex);
+      }
+    }
+
+    @Override
+    public synchronized void complete() {
+      stalledClosed.countDown();
+      super.complete();
+    }
+  }
+}
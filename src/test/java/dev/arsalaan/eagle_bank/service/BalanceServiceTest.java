@@ -0,0 +1,147 @@
+package dev.arsalaan.eagle_bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.BalanceSnapshotRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+
+@SpringBootTest
+class BalanceServiceTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+  private static final int DAYS = 5;
+
+  @Autowired
+  private BalanceService balanceService;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private TransactionRepository transactionRepository;
+  @Autowired
+  private BalanceSnapshotRepository balanceSnapshotRepository;
+  @Autowired
+  private PostingService postingService;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Test
+  void balanceAsOfMatchesFullRecomputationWithAndWithoutSnapshots() {
+    User user = userRepository.save(TestData.user().build());
+    Account account = accountRepository.save(TestData.account(user)
+        .accountName("History")
+        .accountType("CHECKING")
+        .createdAt(START)
+        .build());
+
+    // a few postings per day, including some exactly on midnight
+    Random random = new Random(42);
+    List<Transaction> ledger = new ArrayList<>();
+    for (int i = 0; i < 60; i++) {
+      LocalDateTime createdAt = i % 10 == 0
+          ? START.plusDays(i / 12)
+          : START.plusMinutes(random.nextInt(DAYS * 24 * 60));
+      ledger.add(transactionRepository.save(Transaction.builder()
+          .transactionType(random.nextInt(3) == 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT)
+          .amount(BigDecimal.valueOf(random.nextInt(1, 10_000), 2))
+          .createdAt(createdAt)
+          .account(account)
+          .build()));
+    }
+
+    List<LocalDateTime> probes = new ArrayList<>();
+    for (int hour = -1; hour <= DAYS * 24 + 1; hour += 5) {
+      probes.add(START.plusHours(hour));
+    }
+    for (Transaction transaction : ledger) {
+      probes.add(transaction.getCreatedAt());
+    }
+
+    assertBalancesMatch(account.getId(), ledger, probes);
+
+    for (int day = 1; day <= DAYS; day++) {
+      balanceService.createSnapshots(START.plusDays(day));
+    }
+    balanceService.createSnapshots(START.plusDays(2)); // re-running a checkpoint is a no-op
+
+    assertBalancesMatch(account.getId(), ledger, probes);
+  }
+
+  @Test
+  void snapshotIncludesPostingsStillCommittingAtTheCheckpoint() throws Exception {
+    User user = userRepository.save(TestData.user().build());
+    Long accountId = accountRepository.save(TestData.account(user).build()).getId();
+    postingService.post(accountId, TransactionType.DEPOSIT, new BigDecimal("5.00"));
+
+    // a posting created before the checkpoint that has not committed when the snapshot job starts
+    CountDownLatch posted = new CountDownLatch(1);
+    CountDownLatch commit = new CountDownLatch(1);
+    AtomicReference<LocalDateTime> checkpoint = new AtomicReference<>();
+    CompletableFuture<?> lateCommit = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+      postingService.post(accountId, TransactionType.DEPOSIT, new BigDecimal("10.00"));
+      // whole milliseconds, so the column's precision cannot round it
+      checkpoint.set(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).plus(2, ChronoUnit.MILLIS));
+      posted.countDown();
+      await(commit);
+    }));
+    assertThat(posted.await(5, TimeUnit.SECONDS)).isTrue();
+
+    CompletableFuture<?> snapshot = CompletableFuture.runAsync(() -> balanceService.createSnapshots(checkpoint.get()));
+    Thread.sleep(200);
+    assertThat(snapshot).isNotDone();
+
+    commit.countDown();
+    lateCommit.get(5, TimeUnit.SECONDS);
+    snapshot.get(5, TimeUnit.SECONDS);
+
+    assertThat(balanceSnapshotRepository
+        .findFirstByAccountIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(accountId, checkpoint.get()))
+        .hasValueSatisfying(taken -> assertThat(taken.getBalance()).isEqualByComparingTo("15.00"));
+    assertThat(balanceService.getBalanceAsOf(accountId, checkpoint.get())).isEqualByComparingTo("15.00");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private void assertBalancesMatch(Long accountId, List<Transaction> ledger, List<LocalDateTime> probes) {
+    for (LocalDateTime asOf : probes) {
+      BigDecimal expected = ledger.stream()
+          .filter(t -> !t.getCreatedAt().isAfter(asOf))
+          .map(t -> t.getTransactionType() == TransactionType.DEPOSIT ? t.getAmount() : t.getAmount().negate())
+          .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+      assertThat(balanceService.getBalanceAsOf(accountId, asOf)).as("balance as of %s", asOf)
+          .isEqualByComparingTo(expected);
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package dev.arsalaan.eagle_bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.OutboxEvent;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.OutboxEventRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+
+// the scheduled relay only runs at startup; the tests drive it with relayBatch()
+@SpringBootTest(properties = {
+    "app.outbox.enabled=true",
+    "app.outbox.relay.enabled=true",
+    "app.outbox.relay.interval=1h",
+    "app.outbox.relay.batch-size=3" })
+class OutboxRelayTest {
+
+  @Autowired
+  private PostingService postingService;
+  @Autowired
+  private OutboxRelay outboxRelay;
+  @Autowired
+  private FlakySink sink;
+  @Autowired
+  private OutboxEventRepository outboxEventRepository;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  private Account first;
+  private Account second;
+
+  @BeforeEach
+  void setUp() {
+    User user = userRepository.save(TestData.user().build());
+    first = accountRepository.save(newAccount(user));
+    second = accountRepository.save(newAccount(user));
+  }
+
+  @Test
+  void deliversEveryCommittedPostingInAccountOrder() {
+    postingService.post(first.getId(), TransactionType.DEPOSIT, new BigDecimal("50.00"));
+    postingService.postBatch(List.of(
+        new Posting(first.getId(), TransactionType.WITHDRAWAL, new BigDecimal("10.00")),
+        new Posting(second.getId(), TransactionType.DEPOSIT, new BigDecimal("5.00")),
+        new Posting(first.getId(), TransactionType.DEPOSIT, new BigDecimal("1.00"))), false);
+    postingService.transfer(first.getId(), second.getId(), new BigDecimal("20.00"));
+    // rolled back as a whole, so no events
+    postingService.postBatch(List.of(
+        new Posting(first.getId(), TransactionType.DEPOSIT, new BigDecimal("1.00")),
+        new Posting(second.getId(), TransactionType.WITHDRAWAL, new BigDecimal("999.00"))), true);
+
+    drain();
+
+    assertDeliveredInOrder(first, 4);
+    assertDeliveredInOrder(second, 2);
+    assertThat(outboxEventRepository.findAll())
+        .noneMatch(event -> event.getAccountId().equals(first.getId()) || event.getAccountId().equals(second.getId()));
+  }
+
+  @Test
+  void busyAccountsDoNotStarveOthers() {
+    drain();
+    postingService.post(second.getId(), TransactionType.DEPOSIT, new BigDecimal("1.00"));
+    for (int i = 0; i < 3; i++) {
+      postingService.post(first.getId(), TransactionType.DEPOSIT, new BigDecimal("1.00"));
+    }
+
+    // one batch of 3: the oldest event goes out even though its account id is higher
+    outboxRelay.relayBatch();
+
+    assertThat(eventsFor(second)).hasSize(1);
+    assertThat(eventsFor(first)).hasSize(2);
+  }
+
+  @Test
+  void failedDeliveryIsRetried() {
+    postingService.post(first.getId(), TransactionType.DEPOSIT, new BigDecimal("50.00"));
+
+    sink.failNext.set(true);
+    assertThatThrownBy(() -> drain()).isInstanceOf(UncheckedIOException.class);
+    assertThat(eventsFor(first)).isEmpty();
+
+    drain();
+
+    assertDeliveredInOrder(first, 1);
+  }
+
+  private void drain() {
+    int delivered;
+    do {
+      delivered = outboxRelay.relayBatch();
+    } while (delivered > 0);
+  }
+
+  private void assertDeliveredInOrder(Account account, int expected) {
+    List<OutboxEvent> events = eventsFor(account);
+
+    assertThat(events).hasSize(expected);
+    assertThat(events).extracting(OutboxEvent::getAccountVersion).isSorted().doesNotHaveDuplicates();
+    assertThat(events).extracting(OutboxEvent::getTransactionId).containsExactlyInAnyOrderElementsOf(
+        transactionRepository.findByAccountId(account.getId()).stream().map(Transaction::getId).toList());
+    assertThat(events.get(events.size() - 1).getPayload()).contains("\"balanceAfter\"");
+  }
+
+  private List<OutboxEvent> eventsFor(Account account) {
+    return sink.getEvents().stream().filter(event -> event.getAccountId().equals(account.getId())).toList();
+  }
+
+  private Account newAccount(User user) {
+    return TestData.account(user)
+        .balance(new BigDecimal("100.00"))
+        .build();
+  }
+
+  static class FlakySink extends InMemoryOutboxSink {
+
+    private final AtomicBoolean failNext = new AtomicBoolean();
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+      if (failNext.getAndSet(false)) {
+        throw new UncheckedIOException(new IOException("sink unavailable"));
+      }
+      super.publish(batch);
+    }
+  }
+
+  @TestConfiguration
+  static class FlakySinkConfig {
+
+    @Bean
+    @Primary
+    FlakySink flakySink() {
+      return new FlakySink();
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package dev.arsalaan.eagle_bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+
+// request threads must never be left waiting on a stopped or stuck writer
+class PostingSequencerShutdownTest {
+
+  private final PostingService postingService = mock(PostingService.class);
+  private final CountDownLatch writing = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final CountDownLatch interrupted = new CountDownLatch(1);
+
+  private PostingSequencer sequencer;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    sequencer.stop();
+  }
+
+  @Test
+  void rejectsPostingsAfterStop() {
+    start(Duration.ofSeconds(10));
+    sequencer.stop();
+
+    assertRejectedWith(HttpStatus.SERVICE_UNAVAILABLE, () -> sequencer.submit(posting()));
+  }
+
+  @Test
+  void failsQueuedPostingsAndLetsTheBatchInFlightFinish() throws Exception {
+    start(Duration.ofSeconds(10));
+    blockWrites();
+
+    CompletableFuture<?> inFlight = CompletableFuture.runAsync(() -> sequencer.submit(posting()));
+    assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<?> queued = CompletableFuture.runAsync(() -> sequencer.submit(posting()));
+
+    CompletableFuture<?> stopping = CompletableFuture.runAsync(sequencer::stop);
+
+    assertFailsWith(HttpStatus.SERVICE_UNAVAILABLE, queued);
+    // stop() waits for the write instead of interrupting it
+    assertThat(stopping).isNotDone();
+    release.countDown();
+    assertThat(stopping).succeedsWithin(5, TimeUnit.SECONDS);
+    assertThat(inFlight).failsWithin(5, TimeUnit.SECONDS);
+    assertThat(interrupted.getCount()).isEqualTo(1);
+  }
+
+  @Test
+  void interruptsAWriterStuckPastTheSubmitTimeout() throws Exception {
+    start(Duration.ofMillis(200));
+    blockWrites();
+
+    CompletableFuture<?> inFlight = CompletableFuture.runAsync(() -> sequencer.submit(posting()));
+    assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+    sequencer.stop();
+
+    assertThat(inFlight).failsWithin(5, TimeUnit.SECONDS);
+    assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void givesUpAfterTheSubmitTimeout() throws Exception {
+    start(Duration.ofMillis(200));
+    blockWrites();
+
+    CompletableFuture<?> inFlight = CompletableFuture.runAsync(() -> sequencer.submit(posting()));
+    assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<?> queued = CompletableFuture.runAsync(() -> sequencer.submit(posting()));
+
+    // the first may still be committed, the second never reached the database
+    assertFailsWith(HttpStatus.GATEWAY_TIMEOUT, inFlight);
+    assertFailsWith(HttpStatus.SERVICE_UNAVAILABLE, queued);
+  }
+
+  private void start(Duration submitTimeout) {
+    sequencer = new PostingSequencer(postingService, true, 1, 10, 100, 0, submitTimeout);
+    sequencer.start();
+  }
+
+  private void blockWrites() {
+    when(postingService.postBatch(anyList(), eq(false))).thenAnswer(invocation -> {
+      writing.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException ex) {
+        // as a JDBC call interrupted by stop() would
+        interrupted.countDown();
+        throw new IllegalStateException(ex);
+      }
+      throw new IllegalStateException("not written");
+    });
+  }
+
+  private static Posting posting() {
+    return new Posting(1L, TransactionType.DEPOSIT, BigDecimal.TEN);
+  }
+
+  private static void assertFailsWith(HttpStatus status, CompletableFuture<?> submit) {
+    assertThatThrownBy(() -> submit.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .cause()
+        .isInstanceOfSatisfying(ApiRequestException.class, ex -> assertThat(ex.getHttpStatus()).isEqualTo(status));
+  }
+
+  private static void assertRejectedWith(HttpStatus status, Runnable submit) {
+    assertThatThrownBy(submit::run)
+        .isInstanceOfSatisfying(ApiRequestException.class, ex -> assertThat(ex.getHttpStatus()).isEqualTo(status));
+  }
+}
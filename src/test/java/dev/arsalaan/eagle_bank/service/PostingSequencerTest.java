@@ -0,0 +1,101 @@
+package dev.arsalaan.eagle_bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+
+@SpringBootTest(properties = {
+    "app.posting.sequencer.enabled=true",
+    "app.posting.sequencer.stripes=2",
+    "app.posting.sequencer.linger-ms=5" })
+class PostingSequencerTest {
+
+  private static final int THREADS = 32;
+  private static final int POSTINGS = 2000;
+  private static final int ACCOUNTS = 4;
+
+  @Autowired
+  private PostingSequencer postingSequencer;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Test
+  void groupCommittedPostingsEachGetTheirOwnResult() throws Exception {
+    User user = userRepository.save(TestData.user().build());
+
+    List<Account> accounts = new ArrayList<>();
+    for (int i = 0; i < ACCOUNTS; i++) {
+      accounts.add(accountRepository.save(TestData.account(user)
+          .accountName("Hot " + i)
+          .accountType("CHECKING")
+          .build()));
+    }
+
+    AtomicInteger rejected = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Future<?>> futures = new ArrayList<>();
+
+    for (int i = 0; i < POSTINGS; i++) {
+      futures.add(executor.submit(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Account account = accounts.get(random.nextInt(ACCOUNTS));
+        TransactionType type = random.nextBoolean() ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL;
+        BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 100));
+        try {
+          Transaction transaction = postingSequencer.submit(new Posting(account.getId(), type, amount));
+          assertThat(transaction.getId()).isNotNull();
+          assertThat(transaction.getAmount()).isEqualByComparingTo(amount);
+        } catch (ApiRequestException ex) {
+          assertThat(ex.getHttpStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+          rejected.incrementAndGet();
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+    int posted = 0;
+    for (Account account : accounts) {
+      List<Transaction> ledger = transactionRepository.findByAccountId(account.getId());
+      BigDecimal ledgerBalance = ledger.stream()
+          .map(t -> t.getTransactionType() == TransactionType.DEPOSIT ? t.getAmount() : t.getAmount().negate())
+          .reduce(BigDecimal.ZERO, BigDecimal::add);
+      BigDecimal balance = accountRepository.findById(account.getId()).orElseThrow().getBalance();
+
+      assertThat(balance).isEqualByComparingTo(ledgerBalance);
+      assertThat(balance).isGreaterThanOrEqualTo(BigDecimal.ZERO);
+      posted += ledger.size();
+    }
+    assertThat(posted).isEqualTo(POSTINGS - rejected.get());
+  }
+}
@@ -0,0 +1,121 @@
+package dev.arsalaan.eagle_bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import dev.arsalaan.eagle_bank.TestData;
+import dev.arsalaan.eagle_bank.enums.TransactionType;
+import dev.arsalaan.eagle_bank.exception.ApiRequestException;
+import dev.arsalaan.eagle_bank.model.Account;
+import dev.arsalaan.eagle_bank.model.Transaction;
+import dev.arsalaan.eagle_bank.model.User;
+import dev.arsalaan.eagle_bank.repository.AccountRepository;
+import dev.arsalaan.eagle_bank.repository.TransactionRepository;
+import dev.arsalaan.eagle_bank.repository.UserRepository;
+
+/*
+ * Random cross transfers among a few accounts from many threads. Any deadlock or lock
+ * timeout surfaces as an unexpected exception from future.get() and fails the test.
+ */
+@SpringBootTest
+class TransferStressTest {
+
+  private static final int ACCOUNTS = 6;
+  private static final int THREADS = 32;
+  private static final int TRANSFERS = 3000;
+  private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+  @Autowired
+  private PostingService postingService;
+  @Autowired
+  private UserRepository userRepository;
+  @Autowired
+  private AccountRepository accountRepository;
+  @Autowired
+  private TransactionRepository transactionRepository;
+
+  @Test
+  void randomCrossTransfersConserveMoneyWithoutDeadlocks() throws Exception {
+    User user = userRepository.save(TestData.user().build());
+
+    List<Long> accountIds = new ArrayList<>();
+    for (int i = 0; i < ACCOUNTS; i++) {
+      Account account = accountRepository.save(TestData.account(user)
+          .accountName("Pool " + i)
+          .accountType("CHECKING")
+          .build());
+      postingService.post(account.getId(), TransactionType.DEPOSIT, OPENING_BALANCE);
+      accountIds.add(account.getId());
+    }
+
+    AtomicInteger rejected = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    List<Future<?>> futures = new ArrayList<>();
+
+    for (int i = 0; i < TRANSFERS; i++) {
+      futures.add(executor.submit(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(ACCOUNTS);
+        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 50_000), 2);
+        try {
+          postingService.transfer(accountIds.get(from), accountIds.get(to), amount);
+        } catch (ApiRequestException ex) {
+          assertThat(ex.getHttpStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+          rejected.incrementAndGet();
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+    BigDecimal total = BigDecimal.ZERO;
+    List<Transaction> transfers = new ArrayList<>();
+
+    for (Long accountId : accountIds) {
+      List<Transaction> ledger = transactionRepository.findByAccountId(accountId);
+      BigDecimal ledgerBalance = ledger.stream()
+          .map(t -> t.getTransactionType().isCredit() ? t.getAmount() : t.getAmount().negate())
+          .reduce(BigDecimal.ZERO, BigDecimal::add);
+      BigDecimal balance = accountRepository.findById(accountId).orElseThrow().getBalance();
+
+      assertThat(balance).isEqualByComparingTo(ledgerBalance);
+      assertThat(balance).isGreaterThanOrEqualTo(BigDecimal.ZERO);
+      total = total.add(balance);
+      ledger.stream().filter(t -> t.getTransactionType().isTransfer()).forEach(transfers::add);
+    }
+
+    // money is conserved and every transfer left exactly one linked, matching pair
+    assertThat(total).isEqualByComparingTo(OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)));
+    assertThat(transfers).hasSize(2 * (TRANSFERS - rejected.get()));
+
+    Map<Long, Transaction> byId = transfers.stream().collect(Collectors.toMap(Transaction::getId, Function.identity()));
+    for (Transaction transaction : transfers) {
+      Transaction linked = byId.get(transaction.getLinkedTransactionId());
+      assertThat(linked).isNotNull();
+      assertThat(linked.getLinkedTransactionId()).isEqualTo(transaction.getId());
+      assertThat(linked.getAmount()).isEqualByComparingTo(transaction.getAmount());
+      assertThat(linked.getTransactionType()).isNotEqualTo(transaction.getTransactionType());
+    }
+  }
+}